@@ -22,7 +22,6 @@ package org.sonar.java.checks;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.NoSuchAlgorithmException;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -126,7 +125,7 @@ class MissingPackageInfoCheckTest {
   }
 
   @Test
-  void cache_deserialization_throws_IOException() throws IOException, NoSuchAlgorithmException {
+  void cache_deserialization_throws_IOException() throws IOException {
     String filePath = mainCodeSourcesPath("checks/packageInfo/HelloWorld.java");
     InputFile cachedFile = HashCacheTestHelper.inputFileFromPath(filePath);
     byte[] cachedHash = FileHashingUtils.inputFileContentHash(cachedFile);
@@ -137,7 +136,7 @@ class MissingPackageInfoCheckTest {
     doReturn(inputStream).when(localReadCache).read("java:S1228;S4032:package:" + cachedFile.key());
     doReturn(true).when(localReadCache).contains(any());
     doReturn(new ByteArrayInputStream(cachedHash))
-      .when(localReadCache).read("java:contentHash:MD5:" + cachedFile.key());
+      .when(localReadCache).read("java:contentHash:MURMUR3_128:" + cachedFile.key());
 
     var localVerifier = CheckVerifier.newVerifier()
       .withCache(localReadCache, localWriteCache)
@@ -165,7 +164,7 @@ class MissingPackageInfoCheckTest {
   }
 
   @Test
-  void emptyCache() throws NoSuchAlgorithmException, IOException {
+  void emptyCache() throws IOException {
     logTester.setLevel(Level.TRACE);
     String filePath = mainCodeSourcesPath("checks/packageInfo/HelloWorld.java");
     ReadCache populatedReadCache = HashCacheTestHelper.internalReadCacheFromFile(filePath);
@@ -22,7 +22,6 @@ package org.sonar.java.checks;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.NoSuchAlgorithmException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -149,7 +148,7 @@ class UselessPackageInfoCheckTest {
   }
 
   @Test
-  void cache_deserialization_throws_IOException() throws IOException, NoSuchAlgorithmException {
+  void cache_deserialization_throws_IOException() throws IOException {
     var inputStream = mock(InputStream.class);
     doThrow(new IOException()).when(inputStream).readAllBytes();
     var localReadCache = mock(ReadCache.class);
@@ -161,7 +160,7 @@ class UselessPackageInfoCheckTest {
     doReturn(inputStream).when(localReadCache).read("java:S1228;S4032:package:"+cachedFile.key());
     doReturn(true).when(localReadCache).contains(any());
     doReturn(new ByteArrayInputStream(cachedHash))
-    .when(localReadCache).read("java:contentHash:MD5:"+cachedFile.key());
+    .when(localReadCache).read("java:contentHash:MURMUR3_128:"+cachedFile.key());
 
     var verifier = CheckVerifier.newVerifier()
       .withCache(localReadCache, new InternalWriteCache().bind(localReadCache))
@@ -189,7 +188,7 @@ class UselessPackageInfoCheckTest {
   }
 
   @Test
-  void emptyCache() throws NoSuchAlgorithmException, IOException {
+  void emptyCache() throws IOException {
     logTester.setLevel(Level.TRACE);
     String filePath = mainCodeSourcesPath("checks/UselessPackageInfoCheck/packageWithNoOtherFilesButNotPackageInfo/HelloWorld1.java");
     ReadCache populatedReadCache = HashCacheTestHelper.internalReadCacheFromFile(filePath);
@@ -27,7 +27,6 @@ import org.sonar.java.checks.verifier.internal.InternalReadCache;
 
 import java.io.File;
 import java.io.IOException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -43,17 +42,17 @@ public class HashCacheTestHelper {
   }
 
   public static String contentHashKey(InputFile inputFile) {
-    return "java:contentHash:MD5:" + inputFile.key();
+    return "java:contentHash:MURMUR3_128:" + inputFile.key();
   }
 
-  public static ReadCache internalReadCacheFromFile(String path) throws NoSuchAlgorithmException, IOException {
+  public static ReadCache internalReadCacheFromFile(String path) throws IOException {
     InputFile cachedFile = inputFileFromPath(path);
     byte[] cachedHash = FileHashingUtils.inputFileContentHash(cachedFile);
     InternalReadCache localReadCache = new InternalReadCache().put(contentHashKey(cachedFile), cachedHash);
     return localReadCache;
   }
 
-  public static ReadCache internalReadCacheFromFiles(Collection<String> paths) throws NoSuchAlgorithmException, IOException {
+  public static ReadCache internalReadCacheFromFiles(Collection<String> paths) throws IOException {
     InternalReadCache localReadCache = new InternalReadCache();
     for (String path : paths) {
       InputFile cachedFile = inputFileFromPath(path);
@@ -63,7 +62,7 @@ public class HashCacheTestHelper {
     return localReadCache;
   }
   
-  public static byte[] getSlightlyDifferentContentHash(String path) throws NoSuchAlgorithmException, IOException {
+  public static byte[] getSlightlyDifferentContentHash(String path) throws IOException {
     InputFile cachedFile = inputFileFromPath(path);
     byte[] cachedHash = FileHashingUtils.inputFileContentHash(cachedFile);
     byte[] copy = Arrays.copyOf(cachedHash, cachedHash.length+1);
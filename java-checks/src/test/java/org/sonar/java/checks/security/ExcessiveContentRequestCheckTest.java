@@ -21,7 +21,6 @@ package org.sonar.java.checks.security;
 
 import java.io.File;
 import java.io.IOException;
-import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -91,7 +90,7 @@ class ExcessiveContentRequestCheckTest {
     }
 
     @Test
-    void no_issue_raised_on_unchanged_files_with_empty_cache() throws IOException, NoSuchAlgorithmException {
+    void no_issue_raised_on_unchanged_files_with_empty_cache() throws IOException {
       logTester.setLevel(Level.TRACE);
       var check = spy(new ExcessiveContentRequestCheck());
 
@@ -120,7 +119,7 @@ class ExcessiveContentRequestCheckTest {
     }
 
     @Test
-    void no_issue_raised_when_changed_unsafe_file_is_covered_by_unchanged_cached_safe_files() throws IOException, NoSuchAlgorithmException {
+    void no_issue_raised_when_changed_unsafe_file_is_covered_by_unchanged_cached_safe_files() throws IOException {
       readCache.put(computeCacheKey(safeSourceFile), toBytes(new CachedResult(true, true)));
       readCache.put(computeCacheKey(sanitizerSourceFile), toBytes(new CachedResult(false, true)));
 
@@ -145,7 +144,7 @@ class ExcessiveContentRequestCheckTest {
     }
 
     @Test
-    void no_issue_raised_when_cached_unsafe_file_is_covered_by_changed_safe_files() throws IOException, NoSuchAlgorithmException {
+    void no_issue_raised_when_cached_unsafe_file_is_covered_by_changed_safe_files() throws IOException {
       //readCache.put(computeCacheKey(unsafeSourceFile), new byte[]{1, 0});
       readCache.put(computeCacheKey(unsafeSourceFile), toBytes(new CachedResult(true, false)));
 
@@ -169,7 +168,7 @@ class ExcessiveContentRequestCheckTest {
     }
 
     @Test
-    void no_issue_raised_when_all_results_are_cached() throws IOException, NoSuchAlgorithmException {
+    void no_issue_raised_when_all_results_are_cached() throws IOException {
       readCache.putAll(expectedFinalCacheState);
 
       var check = spy(new ExcessiveContentRequestCheck());
@@ -217,7 +216,7 @@ class ExcessiveContentRequestCheckTest {
     }
 
     @Test
-    void log_when_copying_from_previous_cache() throws IOException, NoSuchAlgorithmException {
+    void log_when_copying_from_previous_cache() throws IOException {
 
       readCache.putAll(expectedFinalCacheState);
       var spyOnWriteCache = spy(writeCache);
@@ -249,7 +248,7 @@ class ExcessiveContentRequestCheckTest {
     }
 
     @Test
-    void scanWithoutParsing_returns_false_when_cached_data_is_corrupted() throws IOException, NoSuchAlgorithmException {
+    void scanWithoutParsing_returns_false_when_cached_data_is_corrupted() throws IOException {
       var check = spy(new ExcessiveContentRequestCheck());
       readCache.put(computeCacheKey(unsafeSourceFile), null);
       readCache.put(computeCacheKey(safeSourceFile), new byte[0]);
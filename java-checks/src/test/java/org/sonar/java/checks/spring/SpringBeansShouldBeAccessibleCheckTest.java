@@ -22,7 +22,6 @@ package org.sonar.java.checks.spring;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
@@ -145,7 +144,7 @@ class SpringBeansShouldBeAccessibleCheckTest {
   }
 
   @Test
-  void caching() throws NoSuchAlgorithmException, IOException {
+  void caching() throws IOException {
     var unchangedFiles = Stream.of(
       "app/SpringBootApp1.java",
       "fourthApp/SpringBootApp4.java"
@@ -197,7 +196,7 @@ class SpringBeansShouldBeAccessibleCheckTest {
   }
 
   @Test
-  void cache_deserialization_throws_IOException() throws IOException, NoSuchAlgorithmException {
+  void cache_deserialization_throws_IOException() throws IOException {
     var inputStream = mock(InputStream.class);
     doThrow(new IOException()).when(inputStream).readAllBytes();
     var localReadCache = mock(ReadCache.class);
@@ -209,7 +208,7 @@ class SpringBeansShouldBeAccessibleCheckTest {
     doReturn(inputStream).when(localReadCache).read("java:S4605:targeted:" + cachedFile.key());
     doReturn(true).when(localReadCache).contains(any());
     doReturn(new ByteArrayInputStream(cachedHash))
-      .when(localReadCache).read("java:contentHash:MD5:" + cachedFile.key());
+      .when(localReadCache).read("java:contentHash:MURMUR3_128:" + cachedFile.key());
 
     var verifier = CheckVerifier.newVerifier()
       .withCache(localReadCache, new InternalWriteCache().bind(localReadCache))
@@ -239,7 +238,7 @@ class SpringBeansShouldBeAccessibleCheckTest {
   }
 
   @Test
-  void emptyCache() throws NoSuchAlgorithmException, IOException {
+  void emptyCache() throws IOException {
     logTester.setLevel(Level.TRACE);
     String filePath = mainCodeSourcesPath(BASE_PATH + "springBootApplication/app/SpringBootApp1.java");
     ReadCache populatedReadCache = HashCacheTestHelper.internalReadCacheFromFile(filePath);
@@ -19,35 +19,62 @@
  */
 package org.sonar.java;
 
+/**
+ * Tracks the progress of an analysis performed in batches. Batches can be processed concurrently, in which case
+ * {@link #currentBatchSize} covers all the batches that are currently running.
+ */
 public class AnalysisProgress {
   private final int totalFileCount;
   private int currentBatchSize;
+  private int runningBatchCount;
+  private int completedBatchCount;
   private int analysedFileCount;
 
   public AnalysisProgress(int totalFileCount) {
     this.totalFileCount = totalFileCount;
     currentBatchSize = 0;
+    runningBatchCount = 0;
+    completedBatchCount = 0;
     analysedFileCount = 0;
   }
 
-  public void startBatch(int currentBatchSize) {
-    this.currentBatchSize = currentBatchSize;
+  public synchronized void startBatch(int currentBatchSize) {
+    this.currentBatchSize += currentBatchSize;
+    runningBatchCount++;
+  }
+
+  public synchronized void endBatch() {
+    endBatch(currentBatchSize);
+  }
+
+  public synchronized void endBatch(int batchSize) {
+    this.analysedFileCount += batchSize;
+    this.currentBatchSize = Math.max(0, currentBatchSize - batchSize);
+    runningBatchCount = currentBatchSize == 0 ? 0 : Math.max(0, runningBatchCount - 1);
+    completedBatchCount = runningBatchCount == 0 ? 0 : Math.max(0, completedBatchCount - 1);
   }
 
-  public void endBatch() {
-    this.analysedFileCount += currentBatchSize;
-    this.currentBatchSize = 0;
+  /**
+   * Marks one of the running batches as completed, before its files are accounted for by {@link #endBatch(int)}.
+   *
+   * @return true if it was the last batch of the analysis still running
+   */
+  public synchronized boolean completeBatch() {
+    boolean lastBatch = isLastBatch();
+    completedBatchCount++;
+    return lastBatch;
   }
 
-  public boolean isFirstBatch() {
+  public synchronized boolean isFirstBatch() {
     return analysedFileCount == 0;
   }
 
-  public boolean isLastBatch() {
-    return analysedFileCount + currentBatchSize == totalFileCount;
+  public synchronized boolean isLastBatch() {
+    // when batches run concurrently, only the last one to complete is the last batch
+    return analysedFileCount + currentBatchSize == totalFileCount && runningBatchCount - completedBatchCount <= 1;
   }
 
-  public double toGlobalPercentage(double currentBatchPercentage) {
+  public synchronized double toGlobalPercentage(double currentBatchPercentage) {
     if (totalFileCount == 0) {
       return 0;
     }
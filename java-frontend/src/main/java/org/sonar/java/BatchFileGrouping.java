@@ -0,0 +1,176 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.annotations.VisibleForTesting;
+
+/**
+ * Orders the files to analyze so that files of the same package, and packages importing each other, end up in the same batches.
+ * The types they share are then resolved once by ECJ, instead of once per batch.
+ * Only the package and import declarations are read, without parsing the files.
+ */
+final class BatchFileGrouping {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchFileGrouping.class);
+
+  private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^package\\s++([\\w.]++)\\s*+;");
+  private static final Pattern IMPORT_DECLARATION = Pattern.compile("^import\\s++(?:static\\s++)?(\\w++(?:\\.\\w++)*+)(?:\\.\\*)?\\s*+;");
+
+  private BatchFileGrouping() {
+  }
+
+  /**
+   * Groups the files only when they do not fit in a single batch, since their order does not matter otherwise.
+   */
+  static List<InputFile> groupIfSeveralBatches(List<InputFile> inputFiles, long batchSizeInBytes) {
+    long totalSizeInBytes = 0L;
+    for (InputFile inputFile : inputFiles) {
+      totalSizeInBytes += inputFile.file().length();
+      if (totalSizeInBytes > batchSizeInBytes) {
+        return group(inputFiles);
+      }
+    }
+    return inputFiles;
+  }
+
+  /**
+   * Files of a package keep their relative order. Packages are ordered greedily: the next package is the one having the most
+   * import declarations in common with the current package, or the next one in alphabetical order when there is none.
+   */
+  static List<InputFile> group(List<InputFile> inputFiles) {
+    Map<String, List<InputFile>> filesByPackage = new HashMap<>();
+    Map<String, Map<String, Integer>> affinities = new HashMap<>();
+    for (InputFile inputFile : inputFiles) {
+      Header header = readHeader(inputFile);
+      filesByPackage.computeIfAbsent(header.packageName, name -> new ArrayList<>()).add(inputFile);
+      for (String importedPackage : header.importedPackages) {
+        if (!importedPackage.equals(header.packageName)) {
+          affinities.computeIfAbsent(header.packageName, name -> new HashMap<>()).merge(importedPackage, 1, Integer::sum);
+          affinities.computeIfAbsent(importedPackage, name -> new HashMap<>()).merge(header.packageName, 1, Integer::sum);
+        }
+      }
+    }
+
+    List<InputFile> result = new ArrayList<>(inputFiles.size());
+    TreeSet<String> remainingPackages = new TreeSet<>(filesByPackage.keySet());
+    String current = remainingPackages.pollFirst();
+    while (current != null) {
+      result.addAll(filesByPackage.get(current));
+      String next = closestPackage(affinities.getOrDefault(current, Map.of()), remainingPackages);
+      if (next != null) {
+        remainingPackages.remove(next);
+      } else {
+        next = remainingPackages.pollFirst();
+      }
+      current = next;
+    }
+    return result;
+  }
+
+  private static String closestPackage(Map<String, Integer> affinity, TreeSet<String> remainingPackages) {
+    String closest = null;
+    int closestAffinity = 0;
+    for (Map.Entry<String, Integer> entry : affinity.entrySet()) {
+      String packageName = entry.getKey();
+      int value = entry.getValue();
+      if (remainingPackages.contains(packageName)
+        && (value > closestAffinity || (value == closestAffinity && packageName.compareTo(closest) < 0))) {
+        closest = packageName;
+        closestAffinity = value;
+      }
+    }
+    return closest;
+  }
+
+  @VisibleForTesting
+  static Header readHeader(InputFile inputFile) {
+    Header header = new Header();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputFile.inputStream(), inputFile.charset()))) {
+      String line;
+      boolean inBlockComment = false;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (inBlockComment) {
+          inBlockComment = !line.contains("*/");
+        } else if (line.startsWith("/*")) {
+          inBlockComment = line.indexOf("*/", 2) < 0;
+        } else if (line.startsWith("package")) {
+          Matcher matcher = PACKAGE_DECLARATION.matcher(line);
+          if (matcher.find()) {
+            header.packageName = matcher.group(1);
+          }
+        } else if (line.startsWith("import")) {
+          Matcher matcher = IMPORT_DECLARATION.matcher(line);
+          if (matcher.find()) {
+            header.importedPackages.add(importedPackage(matcher.group(1)));
+          }
+        } else if (!isPartOfHeader(line)) {
+          // The first type declaration has been reached
+          break;
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Unable to read the package and imports of {}: {}", inputFile, e.getMessage());
+    }
+    return header;
+  }
+
+  private static boolean isPartOfHeader(String line) {
+    return line.isEmpty() || line.startsWith("//") || line.startsWith("@");
+  }
+
+  /**
+   * By convention, type names start with an upper case letter: the package is made of the segments preceding the first type name.
+   */
+  private static String importedPackage(String importedName) {
+    String[] segments = importedName.split("\\.");
+    StringBuilder packageName = new StringBuilder();
+    for (String segment : segments) {
+      if (Character.isUpperCase(segment.charAt(0))) {
+        break;
+      }
+      if (packageName.length() > 0) {
+        packageName.append('.');
+      }
+      packageName.append(segment);
+    }
+    return packageName.toString();
+  }
+
+  @VisibleForTesting
+  static class Header {
+    String packageName = "";
+    final List<String> importedPackages = new ArrayList<>();
+  }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.annotations.VisibleForTesting;
+
+/**
+ * Measures the duration and the peak heap usage of each batch, and logs them. When the size of the batches has not been configured,
+ * the size of the next batch is adapted to the heap usage of the previous one: it is halved when the heap is close to be exhausted,
+ * and increased when most of the heap remained unused.
+ */
+class BatchSizeAdapter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchSizeAdapter.class);
+
+  @VisibleForTesting
+  static final long MIN_BATCH_SIZE_IN_KB = 10L;
+  @VisibleForTesting
+  static final long MAX_BATCH_SIZE_IN_KB = 500L;
+  private static final double HIGH_HEAP_USAGE_RATIO = 0.7;
+  private static final double LOW_HEAP_USAGE_RATIO = 0.4;
+  private static final long BYTES_PER_MB = 1_000_000L;
+
+  private final HeapMonitor heapMonitor;
+  private final boolean adaptive;
+  private long batchSizeInKB;
+  private long batchStartTime;
+
+  BatchSizeAdapter(long initialBatchSizeInKB, boolean adaptive) {
+    this(initialBatchSizeInKB, adaptive, new GcHeapMonitor(adaptive));
+  }
+
+  @VisibleForTesting
+  BatchSizeAdapter(long initialBatchSizeInKB, boolean adaptive, HeapMonitor heapMonitor) {
+    this.batchSizeInKB = initialBatchSizeInKB;
+    this.adaptive = adaptive;
+    this.heapMonitor = heapMonitor;
+  }
+
+  long batchSizeInKB() {
+    return batchSizeInKB;
+  }
+
+  void startBatch() {
+    heapMonitor.reset();
+    batchStartTime = System.nanoTime();
+  }
+
+  void endBatch(List<InputFile> batch) {
+    long durationInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStartTime);
+    long peakHeapUsage = heapMonitor.peakUsedBytes();
+    long maxHeap = heapMonitor.maxBytes();
+    long previousBatchSizeInKB = batchSizeInKB;
+    if (adaptive && maxHeap > 0) {
+      double heapUsageRatio = (double) peakHeapUsage / maxHeap;
+      if (heapUsageRatio > HIGH_HEAP_USAGE_RATIO) {
+        batchSizeInKB = Math.max(MIN_BATCH_SIZE_IN_KB, batchSizeInKB / 2);
+      } else if (heapUsageRatio < LOW_HEAP_USAGE_RATIO) {
+        batchSizeInKB = Math.min(MAX_BATCH_SIZE_IN_KB, Math.max(MIN_BATCH_SIZE_IN_KB, batchSizeInKB + batchSizeInKB / 2));
+      }
+    }
+    if (LOG.isDebugEnabled()) {
+      long batchSizeInBytes = batch.stream().mapToLong(inputFile -> inputFile.file().length()).sum();
+      LOG.debug("Batch of {} files ({} KB) analyzed in {} ms, peak heap usage: {} MB / {} MB.",
+        batch.size(), batchSizeInBytes / 1_000L, durationInMs, peakHeapUsage / BYTES_PER_MB, maxHeap / BYTES_PER_MB);
+      if (previousBatchSizeInKB != batchSizeInKB) {
+        LOG.debug("Batch size changed from {} KB to {} KB.", previousBatchSizeInKB, batchSizeInKB);
+      }
+    }
+  }
+
+  void close() {
+    heapMonitor.close();
+  }
+
+  interface HeapMonitor {
+    /**
+     * Starts a new measure of the peak heap usage.
+     */
+    void reset();
+
+    long peakUsedBytes();
+
+    long maxBytes();
+
+    void close();
+  }
+
+  /**
+   * The peak heap usage is the highest heap usage measured after a garbage collection, since it approximates the memory retained
+   * by the analysis. When no garbage collection happened since the last reset, the current heap usage is used instead.
+   * The garbage collection notifications are only listened to when the size of the batches is adapted, otherwise only the
+   * current heap usage is measured.
+   */
+  static class GcHeapMonitor implements HeapMonitor, NotificationListener {
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final Set<String> heapPoolNames = ManagementFactory.getMemoryPoolMXBeans().stream()
+      .filter(pool -> pool.getType() == MemoryType.HEAP)
+      .map(MemoryPoolMXBean::getName)
+      .collect(Collectors.toSet());
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final AtomicLong peakUsedAfterGc = new AtomicLong();
+
+    GcHeapMonitor(boolean listenToGarbageCollections) {
+      if (!listenToGarbageCollections) {
+        return;
+      }
+      for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+        if (garbageCollector instanceof NotificationEmitter emitter) {
+          emitter.addNotificationListener(this, null, null);
+          emitters.add(emitter);
+        }
+      }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+      if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long usedAfterGc = info.getGcInfo().getMemoryUsageAfterGc().entrySet().stream()
+          .filter(pool -> heapPoolNames.contains(pool.getKey()))
+          .mapToLong(pool -> pool.getValue().getUsed())
+          .sum();
+        peakUsedAfterGc.accumulateAndGet(usedAfterGc, Math::max);
+      }
+    }
+
+    @Override
+    public void reset() {
+      peakUsedAfterGc.set(0L);
+    }
+
+    @VisibleForTesting
+    boolean isListening() {
+      return !emitters.isEmpty();
+    }
+
+    @Override
+    public long peakUsedBytes() {
+      long peak = peakUsedAfterGc.get();
+      return peak > 0L ? peak : memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public long maxBytes() {
+      long max = memoryMXBean.getHeapMemoryUsage().getMax();
+      return max > 0L ? max : Runtime.getRuntime().maxMemory();
+    }
+
+    @Override
+    public void close() {
+      for (NotificationEmitter emitter : emitters) {
+        try {
+          emitter.removeNotificationListener(this);
+        } catch (ListenerNotFoundException e) {
+          // already removed
+        }
+      }
+      emitters.clear();
+    }
+  }
+
+}
@@ -28,10 +28,21 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +56,7 @@ import org.sonar.java.collections.CollectionUtils;
 import org.sonar.java.exceptions.ApiMismatchException;
 import org.sonar.java.filters.SonarJavaIssueFilter;
 import org.sonar.java.model.JParserConfig;
+import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.VisitorsBridge;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaResourceLocator;
@@ -64,6 +76,11 @@ public class JavaFrontend {
   private final JavaAstScanner astScanner;
   private final JavaAstScanner astScannerForTests;
   private final JavaAstScanner astScannerForGeneratedFiles;
+  private final WorkerBridges mainWorkerBridges;
+  /**
+   * Visitors are shared by all the batches. When batches are parsed concurrently, their execution is serialized on this lock.
+   */
+  private final Object visitorsLock = new Object();
 
   public JavaFrontend(JavaVersion javaVersion, @Nullable SonarComponents sonarComponents, @Nullable Measurer measurer,
                       JavaResourceLocator javaResourceLocator, @Nullable SonarJavaIssueFilter postAnalysisIssueFilter, JavaCheck... visitors) {
@@ -104,7 +121,9 @@ public class JavaFrontend {
 
     //AstScanner for main files
     astScanner = new JavaAstScanner(sonarComponents);
-    astScanner.setVisitorBridge(createVisitorBridge(codeVisitors, classpath, javaVersion, sonarComponents, inAndroidContext));
+    VisitorsBridge mainVisitorsBridge = createVisitorBridge(codeVisitors, classpath, javaVersion, sonarComponents, inAndroidContext);
+    astScanner.setVisitorBridge(mainVisitorsBridge);
+    mainWorkerBridges = createWorkerBridges(mainVisitorsBridge, Arrays.asList(visitors), sonarComponents);
 
     //AstScanner for test files
     astScannerForTests = new JavaAstScanner(sonarComponents);
@@ -122,13 +141,46 @@ public class JavaFrontend {
     return visitorsBridge;
   }
 
+  /**
+   * When batches are analyzed in parallel, the checks which support it get one instance per analysis thread.
+   * They are then run by worker bridges, outside of the lock serializing the execution of the other visitors.
+   */
+  private static WorkerBridges createWorkerBridges(VisitorsBridge visitorsBridge, List<JavaCheck> visitors, @Nullable SonarComponents sonarComponents) {
+    if (sonarComponents == null
+      || sonarComponents.isSonarLintContext()
+      || sonarComponents.isFileByFileEnabled()
+      || sonarComponents.getBatchModeParallelism() <= 1) {
+      return WorkerBridges.none();
+    }
+    List<JavaCheck> workerChecks = visitors.stream()
+      .filter(sonarComponents::canCreateWorkerInstance)
+      .toList();
+    if (workerChecks.isEmpty()) {
+      return WorkerBridges.none();
+    }
+    LOG.info("{} checks can be instantiated once per analysis thread.", workerChecks.size());
+    visitorsBridge.delegateToWorkers(workerChecks);
+    return new WorkerBridges(() -> visitorsBridge.createWorkerBridge(sonarComponents.createWorkerInstances(workerChecks)));
+  }
+
   @VisibleForTesting
   boolean analysisCancelled() {
     return sonarComponents != null && sonarComponents.analysisCancelled();
   }
 
   public void scan(Iterable<InputFile> sourceFiles, Iterable<InputFile> testFiles, Iterable<? extends InputFile> generatedFiles) {
-    if (canOptimizeScanning()) {
+    boolean canOptimizeScanning = canOptimizeScanning();
+    if (isCacheEnabled()) {
+      List<InputFile> nonGeneratedFiles = new ArrayList<>();
+      sourceFiles.forEach(nonGeneratedFiles::add);
+      testFiles.forEach(nonGeneratedFiles::add);
+      sonarComponents.computeContentHashes(nonGeneratedFiles);
+      if (canOptimizeScanning) {
+        sonarComponents.computeFilesDependingOnChangedFiles(nonGeneratedFiles);
+      }
+    }
+
+    if (canOptimizeScanning) {
       long successfullyScanned = 0L;
       long total = 0L;
 
@@ -165,7 +217,7 @@ public class JavaFrontend {
     } else if (isAutoScan()) {
       scanAsBatch(new AutoScanBatchContext(), sourceFiles, testFiles);
     } else {
-      scanAsBatch(new DefaultBatchModeContext(astScanner, "Main"), sourceFiles);
+      scanAsBatch(new DefaultBatchModeContext(astScanner, "Main", mainWorkerBridges), sourceFiles);
       scanAsBatch(new DefaultBatchModeContext(astScannerForTests, "Test"), testFiles);
       scanAsBatch(new DefaultBatchModeContext(astScannerForGeneratedFiles, "Generated"), generatedFiles);
     }
@@ -219,12 +271,70 @@ public class JavaFrontend {
       scanBatch(context, allInputFiles, analysisProgress);
     } else {
       long batchSize = batchModeSizeInKB * 1_000L;
-      LOG.info("{} with batch size {} KB.", logUsingBatch, batchModeSizeInKB);
-      BatchGenerator generator = new BatchGenerator(allInputFiles.iterator(), batchSize);
+      BatchGenerator generator = new BatchGenerator(BatchFileGrouping.groupIfSeveralBatches(allInputFiles, batchSize).iterator(), batchSize);
+      int parallelism = getBatchModeParallelism();
+      if (parallelism > 1) {
+        LOG.info("{} with batch size {} KB and {} parallel batches.", logUsingBatch, batchModeSizeInKB, parallelism);
+        scanBatchesInParallel(context, generator, analysisProgress, parallelism);
+      } else {
+        LOG.info("{} with batch size {} KB.", logUsingBatch, batchModeSizeInKB);
+        BatchSizeAdapter batchSizeAdapter = new BatchSizeAdapter(batchModeSizeInKB, isBatchModeSizeAdaptive());
+        try {
+          while (generator.hasNext()) {
+            List<InputFile> batch = generator.next();
+            batchSizeAdapter.startBatch();
+            scanBatch(context, batch, analysisProgress);
+            batchSizeAdapter.endBatch(batch);
+            generator.setBatchSizeInBytes(batchSizeAdapter.batchSizeInKB() * 1_000L);
+          }
+        } finally {
+          batchSizeAdapter.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * Each batch is parsed by its own ECJ environment, in a dedicated thread. Up to {@code parallelism} batches are parsed concurrently.
+   * Checks having one instance per analysis thread run concurrently. The execution of the other visitors, shared between batches,
+   * is serialized, but it overlaps with the parsing of the other batches.
+   */
+  private void scanBatchesInParallel(BatchModeContext context, BatchGenerator generator, AnalysisProgress analysisProgress, int parallelism) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "Java batch analysis " + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      List<Future<?>> batches = new ArrayList<>();
       while (generator.hasNext()) {
         List<InputFile> batch = generator.next();
-        scanBatch(context, batch, analysisProgress);
+        batches.add(executor.submit(() -> scanBatch(context, batch, analysisProgress)));
+      }
+      for (Future<?> batch : batches) {
+        waitForBatch(batch);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void waitForBatch(Future<?> batch) {
+    try {
+      batch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnalysisException("Analysis cancelled", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
       }
+      throw new AnalysisException(BATCH_ERROR_MESSAGE, cause);
     }
   }
 
@@ -232,21 +342,38 @@ public class JavaFrontend {
     analysisProgress.startBatch(batchFiles.size());
     Set<Runnable> environmentsCleaners = new HashSet<>();
     boolean shouldIgnoreUnnamedModuleForSplitPackage = sonarComponents!= null && sonarComponents.shouldIgnoreUnnamedModuleForSplitPackage();
-    JParserConfig.Mode.BATCH
-      .create(javaVersion, context.getClasspath(), shouldIgnoreUnnamedModuleForSplitPackage)
-      .parse(batchFiles, this::analysisCancelled, analysisProgress, (input, result) -> scanAsBatchCallback(input, result, context, environmentsCleaners));
+    VisitorsBridge workerBridge = context.workerBridges().acquire();
+    try {
+      JParserConfig.Mode.BATCH
+        .create(javaVersion, context.getClasspath(), shouldIgnoreUnnamedModuleForSplitPackage)
+        .parse(batchFiles, this::analysisCancelled, analysisProgress,
+          (input, result) -> scanAsBatchCallback(input, result, context, workerBridge, environmentsCleaners));
+    } finally {
+      context.workerBridges().release(workerBridge);
+    }
     // Due to a bug in ECJ, JAR files remain locked after the analysis on Windows, we unlock them manually, at the end of each batches. See SONARJAVA-3609.
     environmentsCleaners.forEach(Runnable::run);
-    analysisProgress.endBatch();
+    analysisProgress.endBatch(batchFiles.size());
   }
 
-  private static void scanAsBatchCallback(InputFile inputFile, JParserConfig.Result result, BatchModeContext context, Set<Runnable> environmentsCleaners) {
+  private void scanAsBatchCallback(InputFile inputFile, JParserConfig.Result result, BatchModeContext context, @Nullable VisitorsBridge workerBridge,
+    Set<Runnable> environmentsCleaners) {
     JavaAstScanner scanner = context.selectScanner(inputFile);
     Duration duration = PerformanceMeasure.start(context.descriptor(inputFile));
-    scanner.simpleScan(inputFile, result, ast ->
-      // In batch mode, we delay the cleaning of the environment as it will be used in later processing.
-      environmentsCleaners.add(ast.sema.getEnvironmentCleaner())
-    );
+    AtomicReference<JavaTree.CompilationUnitTreeImpl> scannedTree = new AtomicReference<>();
+    AtomicBoolean fileCanBeSkipped = new AtomicBoolean();
+    synchronized (visitorsLock) {
+      scanner.simpleScan(inputFile, result, (ast, canBeSkipped) -> {
+        // In batch mode, we delay the cleaning of the environment as it will be used in later processing.
+        environmentsCleaners.add(ast.sema.getEnvironmentCleaner());
+        scannedTree.set(ast);
+        fileCanBeSkipped.set(canBeSkipped);
+      });
+    }
+    if (workerBridge != null && scannedTree.get() != null) {
+      workerBridge.setCurrentFile(inputFile);
+      workerBridge.visitFile(scannedTree.get(), fileCanBeSkipped.get());
+    }
     duration.stop();
   }
 
@@ -259,6 +386,8 @@ public class JavaFrontend {
 
     JavaAstScanner selectScanner(InputFile input);
 
+    WorkerBridges workerBridges();
+
     void endOfAnalysis();
   }
 
@@ -284,6 +413,11 @@ public class JavaFrontend {
       return input.type() == InputFile.Type.TEST ? astScannerForTests : astScanner;
     }
 
+    @Override
+    public WorkerBridges workerBridges() {
+      return WorkerBridges.none();
+    }
+
     @Override
     public void endOfAnalysis() {
       astScanner.endOfAnalysis();
@@ -296,10 +430,16 @@ public class JavaFrontend {
   static class DefaultBatchModeContext implements BatchModeContext {
     private final JavaAstScanner scanner;
     private final String descriptor;
+    private final WorkerBridges workerBridges;
 
     public DefaultBatchModeContext(JavaAstScanner scanner, String descriptor) {
+      this(scanner, descriptor, WorkerBridges.none());
+    }
+
+    public DefaultBatchModeContext(JavaAstScanner scanner, String descriptor, WorkerBridges workerBridges) {
       this.scanner = scanner;
       this.descriptor = descriptor;
+      this.workerBridges = workerBridges;
     }
 
     @Override
@@ -322,6 +462,11 @@ public class JavaFrontend {
       return scanner;
     }
 
+    @Override
+    public WorkerBridges workerBridges() {
+      return workerBridges;
+    }
+
     @Override
     public void endOfAnalysis() {
       scanner.endOfAnalysis();
@@ -329,8 +474,43 @@ public class JavaFrontend {
 
   }
 
+  /**
+   * Visitors bridges running the checks which have one instance per analysis thread. Each bridge is used by one batch at a time,
+   * and is reused by the next batches.
+   */
+  static class WorkerBridges {
+    private static final WorkerBridges NONE = new WorkerBridges(null);
+
+    @Nullable
+    private final Supplier<VisitorsBridge> factory;
+    private final Queue<VisitorsBridge> availableBridges = new ConcurrentLinkedQueue<>();
+
+    WorkerBridges(@Nullable Supplier<VisitorsBridge> factory) {
+      this.factory = factory;
+    }
+
+    static WorkerBridges none() {
+      return NONE;
+    }
+
+    @CheckForNull
+    VisitorsBridge acquire() {
+      if (factory == null) {
+        return null;
+      }
+      VisitorsBridge bridge = availableBridges.poll();
+      return bridge != null ? bridge : factory.get();
+    }
+
+    void release(@Nullable VisitorsBridge bridge) {
+      if (bridge != null) {
+        availableBridges.add(bridge);
+      }
+    }
+  }
+
   static class BatchGenerator {
-    public final long batchSizeInBytes;
+    private long batchSizeInBytes;
     private final Iterator<InputFile> source;
     private InputFile buffer = null;
 
@@ -344,6 +524,17 @@ public class JavaFrontend {
       return buffer != null || source.hasNext();
     }
 
+    public long getBatchSizeInBytes() {
+      return batchSizeInBytes;
+    }
+
+    /**
+     * Changes the size of the next batches.
+     */
+    public void setBatchSizeInBytes(long batchSizeInBytes) {
+      this.batchSizeInBytes = batchSizeInBytes;
+    }
+
     public List<InputFile> next() {
       List<InputFile> batch = clearBuffer();
       long batchSize = batch.isEmpty() ? 0L : batch.get(0).file().length();
@@ -386,6 +577,16 @@ public class JavaFrontend {
     return sonarComponents != null && sonarComponents.isAutoScan();
   }
 
+  @VisibleForTesting
+  int getBatchModeParallelism() {
+    return sonarComponents == null ? 1 : sonarComponents.getBatchModeParallelism();
+  }
+
+  @VisibleForTesting
+  boolean isBatchModeSizeAdaptive() {
+    return sonarComponents != null && sonarComponents.isBatchModeSizeAdaptive();
+  }
+
   @VisibleForTesting
   long getBatchModeSizeInKB() {
     return sonarComponents == null ? -1L : sonarComponents.getBatchModeSizeInKB();
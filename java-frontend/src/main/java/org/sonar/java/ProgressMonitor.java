@@ -101,7 +101,8 @@ public class ProgressMonitor implements IProgressMonitor, Runnable {
 
   @Override
   public void done() {
-    if (success && analysisProgress.isLastBatch()) {
+    boolean lastBatch = analysisProgress.completeBatch();
+    if (success && lastBatch) {
       log("100% analyzed");
       log("Batch processing: Done.");
     }
@@ -29,12 +29,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.LongSupplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -62,10 +64,13 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.Version;
 import org.sonar.java.annotations.VisibleForTesting;
 import org.sonar.java.caching.ContentHashCache;
+import org.sonar.java.caching.DependencyCache;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.exceptions.ApiMismatchException;
+import org.sonar.java.model.FileDependencies;
 import org.sonar.java.model.GeneratedFile;
+import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.JProblem;
 import org.sonar.java.model.LineUtils;
 import org.sonar.java.reporting.AnalyzerMessage;
@@ -73,6 +78,9 @@ import org.sonar.java.reporting.JavaIssue;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JspCodeVisitor;
+import org.sonar.plugins.java.api.internal.DelegatingVisitor;
+import org.sonar.plugins.java.api.internal.EndOfAnalysis;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonarsource.api.sonarlint.SonarLintSide;
 import org.sonarsource.sonarlint.plugin.api.SonarLintRuntime;
 
@@ -89,6 +97,33 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
   public static final String SONAR_AUTOSCAN_CHECK_FILTERING = "sonar.internal.analysis.autoscan.filtering";
   public static final String SONAR_BATCH_SIZE_KEY = "sonar.java.experimental.batchModeSizeInKB";
   public static final String SONAR_FILE_BY_FILE = "sonar.java.fileByFile";
+  public static final String PERFORMANCE_MEASURE_ACTIVATION_KEY = "sonar.java.performance.measure";
+  /**
+   * Number of batches that can be parsed concurrently in batch mode. By default, batches are processed one after the other.
+   */
+  public static final String SONAR_BATCH_PARALLELISM_KEY = "sonar.java.experimental.batchModeParallelism";
+  /**
+   * Maximum time, in milliseconds, spent by the symbolic execution on a method. By default, only the number of steps is limited.
+   */
+  public static final String SONAR_SE_METHOD_TIME_BUDGET_KEY = "sonar.java.experimental.symbolicExecutionMethodBudgetInMs";
+  /**
+   * Maximum time, in milliseconds, spent by the symbolic execution on all the methods of a file. Not limited by default.
+   */
+  public static final String SONAR_SE_FILE_TIME_BUDGET_KEY = "sonar.java.experimental.symbolicExecutionFileBudgetInMs";
+  /**
+   * Maximum memory, in KB, allocated by the symbolic execution of a method. Not limited by default.
+   */
+  public static final String SONAR_SE_METHOD_ALLOCATION_BUDGET_KEY = "sonar.java.experimental.symbolicExecutionMethodBudgetInKB";
+  /**
+   * Maximum number of steps taken altogether by the computations of the flows of the issues raised on a method by the symbolic
+   * execution. 3,000,000 by default.
+   */
+  public static final String SONAR_SE_METHOD_FLOW_STEPS_KEY = "sonar.java.experimental.symbolicExecutionMethodFlowSteps";
+  /**
+   * Order in which the symbolic execution explores the paths of a method, see the constants of ExplorationStrategy.
+   * By default, each path is explored until its end before exploring the next one.
+   */
+  public static final String SONAR_SE_EXPLORATION_STRATEGY_KEY = "sonar.java.experimental.symbolicExecutionExplorationStrategy";
   /**
    * Describes if an optimized analysis of unchanged by skipping some rules is enabled.
    * By default, the property is not set (null), leaving SQ/SC to decide whether to enable this behavior.
@@ -122,11 +157,24 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
   private final List<JavaCheck> testChecks;
   private final List<JavaCheck> jspChecks;
   private final List<Checks<JavaCheck>> allChecks;
+  private final Map<Class<? extends JavaCheck>, String> mainCheckClassRepositories;
   private SensorContext context;
   private UnaryOperator<List<JavaCheck>> checkFilter = UnaryOperator.identity();
   private final Set<RuleKey> additionalAutoScanCompatibleRuleKeys;
 
   private boolean alreadyLoggedSkipStatus = false;
+  private DependencyCache dependencyCache = null;
+  private final Map<String, Boolean> compiledProjectTypes = new HashMap<>();
+  /**
+   * Keys of the unchanged files depending on changed files, null until computed.
+   */
+  @Nullable
+  private Set<String> filesDependingOnChangedFiles = null;
+  /**
+   * Content hashes by input file key, null until computed.
+   */
+  @Nullable
+  private Map<String, byte[]> contentHashes = null;
 
   public SonarComponents(FileLinesContextFactory fileLinesContextFactory, FileSystem fs,
                          ClasspathForMain javaClasspath, ClasspathForTest javaTestClasspath,
@@ -169,7 +217,9 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     this.mainChecks = new ArrayList<>();
     this.testChecks = new ArrayList<>();
     this.jspChecks = new ArrayList<>();
-    this.allChecks = new ArrayList<>();
+    // checks instantiated for analysis threads are added while issues are reported
+    this.allChecks = new CopyOnWriteArrayList<>();
+    this.mainCheckClassRepositories = new HashMap<>();
     this.additionalAutoScanCompatibleRuleKeys = new TreeSet<>();
     if (checkRegistrars != null) {
       for (CheckRegistrar registrar : checkRegistrars) {
@@ -237,6 +287,11 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
   @Override
   public void registerMainChecks(String repositoryKey, Collection<?> javaCheckClassesAndInstances) {
     registerCheckClasses(mainChecks, repositoryKey, javaCheckClassesAndInstances);
+    for (Object javaCheckClassOrInstance : javaCheckClassesAndInstances) {
+      if (javaCheckClassOrInstance instanceof Class) {
+        mainCheckClassRepositories.put((Class<? extends JavaCheck>) javaCheckClassOrInstance, repositoryKey);
+      }
+    }
   }
 
   @Override
@@ -304,6 +359,79 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     return checkFilter.apply(jspChecks);
   }
 
+  /**
+   * A main check can have one instance per analysis thread when it is marked as {@link Stateless}, and when it has been
+   * registered by class, so that a new instance can be created with the same rule parameters. A {@link DelegatingVisitor} can
+   * have one instance per analysis thread when all the checks it delegates to can, even when it is an {@link EndOfAnalysis}:
+   * the end of the analysis is then notified to its shared instance only.
+   */
+  public boolean canCreateWorkerInstance(JavaCheck check) {
+    if (check instanceof DelegatingVisitor delegatingVisitor) {
+      List<? extends JavaCheck> delegates = delegatingVisitor.delegates();
+      return !delegates.isEmpty() && delegates.stream().allMatch(this::canCreateWorkerInstance);
+    }
+    Class<? extends JavaCheck> checkClass = check.getClass();
+    return checkClass.isAnnotationPresent(Stateless.class)
+      && !(check instanceof EndOfAnalysis)
+      // parsing errors are reported once, by the shared instance of the check
+      && !(check instanceof ExceptionHandler)
+      && mainCheckClassRepositories.containsKey(checkClass);
+  }
+
+  /**
+   * Creates new instances of the given main checks, configured with the same rule parameters.
+   * All the checks should satisfy {@link #canCreateWorkerInstance(JavaCheck)}. The checks a {@link DelegatingVisitor} delegates to
+   * should be part of the given checks: the new instance of the visitor delegates to their new instances.
+   *
+   * @return the new instances, in the same order as the given checks
+   */
+  public synchronized List<JavaCheck> createWorkerInstances(List<JavaCheck> checks) {
+    Map<String, List<Class<? extends JavaCheck>>> classesByRepository = new HashMap<>();
+    for (JavaCheck check : checks) {
+      if (check instanceof DelegatingVisitor) {
+        continue;
+      }
+      String repositoryKey = mainCheckClassRepositories.get(check.getClass());
+      List<Class<? extends JavaCheck>> classes = classesByRepository.computeIfAbsent(repositoryKey, key -> new ArrayList<>());
+      if (!classes.contains(check.getClass())) {
+        classes.add(check.getClass());
+      }
+    }
+    Map<String, Checks<JavaCheck>> createdChecksByRepository = new HashMap<>();
+    classesByRepository.forEach((repositoryKey, classes) -> {
+      Checks<JavaCheck> createdChecks = checkFactory.<JavaCheck>create(repositoryKey).addAnnotatedChecks(classes);
+      createdChecksByRepository.put(repositoryKey, createdChecks);
+      allChecks.add(createdChecks);
+    });
+    Map<JavaCheck, JavaCheck> workerInstanceByCheck = new IdentityHashMap<>();
+    for (JavaCheck check : checks) {
+      if (check instanceof DelegatingVisitor) {
+        continue;
+      }
+      Checks<JavaCheck> createdChecks = createdChecksByRepository.get(mainCheckClassRepositories.get(check.getClass()));
+      RuleKey ruleKey = getRuleKey(check)
+        .orElseThrow(() -> new IllegalStateException("No rule key for check " + check.getClass().getName()));
+      workerInstanceByCheck.put(check, Objects.requireNonNull(createdChecks.of(ruleKey)));
+    }
+    List<JavaCheck> workerInstances = new ArrayList<>(checks.size());
+    for (JavaCheck check : checks) {
+      if (check instanceof DelegatingVisitor delegatingVisitor) {
+        List<JavaCheck> delegates = new ArrayList<>();
+        for (JavaCheck delegate : delegatingVisitor.delegates()) {
+          JavaCheck delegateInstance = workerInstanceByCheck.get(delegate);
+          if (delegateInstance == null) {
+            throw new IllegalStateException("No instance created for check " + delegate.getClass().getName());
+          }
+          delegates.add(delegateInstance);
+        }
+        workerInstances.add(delegatingVisitor.createInstance(delegates));
+      } else {
+        workerInstances.add(workerInstanceByCheck.get(check));
+      }
+    }
+    return workerInstances;
+  }
+
   public Optional<RuleKey> getRuleKey(JavaCheck check) {
     return allChecks.stream()
       .map(sonarChecks -> sonarChecks.ruleKey(check))
@@ -330,7 +458,7 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
   }
 
   @VisibleForTesting
-  void reportIssue(AnalyzerMessage analyzerMessage, RuleKey key, InputComponent fileOrProject, @Nullable Double cost) {
+  synchronized void reportIssue(AnalyzerMessage analyzerMessage, RuleKey key, InputComponent fileOrProject, @Nullable Double cost) {
     Objects.requireNonNull(context);
     JavaIssue issue = JavaIssue.create(context, key, cost);
     AnalyzerMessage.TextSpan textSpan = analyzerMessage.primaryLocation();
@@ -397,6 +525,13 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     return context.config().getBoolean(SONAR_FILE_BY_FILE).orElse(false);
   }
 
+  /**
+   * Performance measures are never active when batches are analyzed in parallel, because the current measure is global.
+   */
+  public boolean isPerformanceMeasureActive() {
+    return context != null && context.config().getBoolean(PERFORMANCE_MEASURE_ACTIVATION_KEY).orElse(false) && getBatchModeParallelism() == 1;
+  }
+
   public boolean isAutoScan() {
     return (context.config().getBoolean(SONAR_BATCH_MODE_KEY).orElse(false) ||
       context.config().getBoolean(SONAR_AUTOSCAN).orElse(false)) &&
@@ -420,6 +555,63 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     return config.getLong(SONAR_BATCH_SIZE_KEY).orElse(computeIdealBatchSize());
   }
 
+  /**
+   * The size of the batches is adapted to the heap usage during the analysis, unless it is set in configuration.
+   *
+   * @return true if the batch mode size is computed and can be adapted during the analysis.
+   */
+  public boolean isBatchModeSizeAdaptive() {
+    return !isAutoScan() && context.config().getLong(SONAR_BATCH_SIZE_KEY).isEmpty();
+  }
+
+  /**
+   * Returns the number of batches that can be processed concurrently, as read from configuration.
+   * Autoscan analyzes all the files in a single batch and is therefore never parallelized.
+   *
+   * @return the number of parallel batches, at least 1.
+   */
+  public int getBatchModeParallelism() {
+    if (isAutoScan()) {
+      return 1;
+    }
+    return Math.max(1, context.config().getInt(SONAR_BATCH_PARALLELISM_KEY).orElse(1));
+  }
+
+  /**
+   * @return the maximum time spent by the symbolic execution on a method, in milliseconds, or 0 when not limited
+   */
+  public long getSymbolicExecutionMethodTimeBudget() {
+    return Math.max(0L, context.config().getLong(SONAR_SE_METHOD_TIME_BUDGET_KEY).orElse(0L));
+  }
+
+  /**
+   * @return the maximum time spent by the symbolic execution on the methods of a file, in milliseconds, or 0 when not limited
+   */
+  public long getSymbolicExecutionFileTimeBudget() {
+    return Math.max(0L, context.config().getLong(SONAR_SE_FILE_TIME_BUDGET_KEY).orElse(0L));
+  }
+
+  /**
+   * @return the maximum memory allocated by the symbolic execution of a method, in KB, or 0 when not limited
+   */
+  public long getSymbolicExecutionMethodAllocationBudget() {
+    return Math.max(0L, context.config().getLong(SONAR_SE_METHOD_ALLOCATION_BUDGET_KEY).orElse(0L));
+  }
+
+  /**
+   * @return the maximum number of steps of the flow computations of the issues raised on a method, or 0 to use the default limit
+   */
+  public int getSymbolicExecutionMethodFlowSteps() {
+    return Math.max(0, context.config().getInt(SONAR_SE_METHOD_FLOW_STEPS_KEY).orElse(0));
+  }
+
+  /**
+   * @return the name of the strategy exploring the paths of a method during the symbolic execution, when configured
+   */
+  public Optional<String> getSymbolicExecutionExplorationStrategy() {
+    return context.config().get(SONAR_SE_EXPLORATION_STRATEGY_KEY).map(String::trim).filter(strategy -> !strategy.isEmpty());
+  }
+
   public boolean shouldIgnoreUnnamedModuleForSplitPackage() {
     return context.config().getBoolean(SONAR_IGNORE_UNNAMED_MODULE_FOR_SPLIT_PACKAGE).orElse(false);
   }
@@ -493,7 +685,7 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
 
 
   public boolean fileCanBeSkipped(InputFile inputFile) {
-    var contentHashCache = new ContentHashCache(context);
+    var contentHashCache = contentHashCache();
     if (inputFile instanceof GeneratedFile) {
       // Generated files should not be skipped as we cannot assess the change status of the source file
       return false;
@@ -525,7 +717,75 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
       contentHashCache.writeToCache(inputFile);
       return false;
     }
-    return contentHashCache.hasSameHashCached(inputFile);
+    boolean hasSameHash = contentHashCache.hasSameHashCached(inputFile);
+    return hasSameHash
+      && hasPreviousDependencies(inputFile)
+      && (filesDependingOnChangedFiles == null || !filesDependingOnChangedFiles.contains(inputFile.key()));
+  }
+
+  /**
+   * Unchanged files without dependencies recorded by the previous analysis are parsed, so that their dependencies get recorded.
+   */
+  private synchronized boolean hasPreviousDependencies(InputFile inputFile) {
+    DependencyCache cache = dependencyCache();
+    return !cache.isEnabled() || cache.hasPrevious(inputFile);
+  }
+
+  /**
+   * Unchanged files depending on changed files cannot be skipped: their analysis may lead to different results.
+   * Must be called before the analysis of the files, so that {@link #fileCanBeSkipped(InputFile)} takes them into account.
+   */
+  public void computeFilesDependingOnChangedFiles(Collection<? extends InputFile> inputFiles) {
+    ContentHashCache contentHashCache = contentHashCache();
+    filesDependingOnChangedFiles = dependencyCache().filesDependingOnChangedFiles(inputFiles, inputFile -> !contentHashCache.isUnchanged(inputFile));
+    if (!filesDependingOnChangedFiles.isEmpty()) {
+      LOG.info("{} unchanged files depend on changed files and will be fully analyzed.", filesDependingOnChangedFiles.size());
+    }
+  }
+
+  /**
+   * Computes the content hashes of the given files in parallel, ahead of {@link #fileCanBeSkipped(InputFile)}.
+   */
+  public void computeContentHashes(Collection<? extends InputFile> inputFiles) {
+    long start = System.nanoTime();
+    contentHashes = ContentHashCache.computeHashes(inputFiles);
+    LOG.debug("Content hashes of {} files computed in {} ms.", contentHashes.size(), (System.nanoTime() - start) / 1_000_000L);
+  }
+
+  private ContentHashCache contentHashCache() {
+    return new ContentHashCache(context, contentHashes == null ? Map.of() : contentHashes);
+  }
+
+  public synchronized void recordDependencies(InputFile inputFile, JavaTree.CompilationUnitTreeImpl tree) {
+    DependencyCache cache = dependencyCache();
+    if (cache.isEnabled()) {
+      FileDependencies dependencies = FileDependencies.of(tree, this::isCompiledProjectType);
+      cache.write(inputFile, dependencies.declaredTypes(), dependencies.referencedTypes());
+    }
+  }
+
+  public synchronized void copyDependenciesFromPrevious(InputFile inputFile) {
+    dependencyCache().copyFromPrevious(inputFile);
+  }
+
+  /**
+   * Types of the project which are not part of the analyzed batch are resolved from the binaries of the project.
+   */
+  private boolean isCompiledProjectType(String qualifiedName) {
+    return compiledProjectTypes.computeIfAbsent(qualifiedName, name -> {
+      String classFile = name.replace('.', File.separatorChar) + ".class";
+      return Stream.of(javaClasspath, javaTestClasspath)
+        .filter(Objects::nonNull)
+        .flatMap(classpath -> classpath.getBinaryDirs().stream())
+        .anyMatch(binaryDir -> new File(binaryDir, classFile).isFile());
+    });
+  }
+
+  private DependencyCache dependencyCache() {
+    if (dependencyCache == null) {
+      dependencyCache = new DependencyCache(context);
+    }
+    return dependencyCache;
   }
 
   public InputComponent project() {
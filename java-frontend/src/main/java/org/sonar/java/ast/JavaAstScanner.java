@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -128,13 +129,21 @@ public class JavaAstScanner {
   }
 
   public void simpleScan(InputFile inputFile, JParserConfig.Result result, Consumer<JavaTree.CompilationUnitTreeImpl> cleanUp) {
+    simpleScan(inputFile, result, (ast, fileCanBeSkipped) -> cleanUp.accept(ast));
+  }
+
+  /**
+   * @param onScanned called once the file has been successfully scanned, with its tree and whether the file can be skipped
+   */
+  public void simpleScan(InputFile inputFile, JParserConfig.Result result, BiConsumer<JavaTree.CompilationUnitTreeImpl, Boolean> onScanned) {
     visitor.setCurrentFile(inputFile);
     try {
       JavaTree.CompilationUnitTreeImpl ast = result.get();
-      visitor.visitFile(ast, sonarComponents != null && sonarComponents.fileCanBeSkipped(inputFile));
+      boolean fileCanBeSkipped = sonarComponents != null && sonarComponents.fileCanBeSkipped(inputFile);
+      visitor.visitFile(ast, fileCanBeSkipped);
       String path = inputFile.toString();
       collectUndefinedTypes(path, ast.sema.undefinedTypes());
-      cleanUp.accept(ast);
+      onScanned.accept(ast, fileCanBeSkipped);
     } catch (RecognitionException e) {
       checkInterrupted(e);
       LOG.error(String.format(LOG_ERROR_UNABLE_TO_PARSE_FILE, inputFile));
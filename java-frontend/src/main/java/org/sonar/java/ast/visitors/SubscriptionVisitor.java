@@ -120,8 +120,10 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
   private void visitChildren(Tree tree) {
     JavaTree javaTree = (JavaTree) tree;
     if (!javaTree.isLeaf()) {
+      boolean visitTokens = visitToken || visitTrivia;
       for (Tree next : javaTree.getChildren()) {
-        if (next != null) {
+        // tokens are leaves, only visited when subscribing to tokens or trivia
+        if (next != null && (visitTokens || next.kind() != Tree.Kind.TOKEN)) {
           visit(next);
         }
       }
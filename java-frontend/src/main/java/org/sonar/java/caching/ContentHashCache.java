@@ -20,8 +20,12 @@
 package org.sonar.java.caching;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.fs.InputFile;
@@ -38,8 +42,17 @@ public class ContentHashCache {
   private ReadCache readCache;
   private WriteCache writeCache;
   private final boolean enabled;
+  private final Map<String, byte[]> precomputedHashes;
 
   public ContentHashCache(SensorContext context) {
+    this(context, Collections.emptyMap());
+  }
+
+  /**
+   * @param precomputedHashes content hashes by input file key, see {@link #computeHashes(Collection)}
+   */
+  public ContentHashCache(SensorContext context, Map<String, byte[]> precomputedHashes) {
+    this.precomputedHashes = precomputedHashes;
     CacheContextImpl cacheContext = CacheContextImpl.of(context);
     enabled = cacheContext.isCacheEnabled();
 
@@ -62,7 +75,7 @@ public class ContentHashCache {
     try {
       LOG.trace("Reading cache for the file {}", inputFile.key());
       byte[] cachedHash = readCache.read(cacheKey).readAllBytes();
-      byte[] fileHash = FileHashingUtils.inputFileContentHash(inputFile);
+      byte[] fileHash = contentHash(inputFile);
       boolean isHashEqual = MessageDigest.isEqual(fileHash, cachedHash);
       if (isHashEqual) {
         copyFromPrevious(inputFile);
@@ -73,12 +86,31 @@ public class ContentHashCache {
     } catch (IllegalArgumentException e) {
       LOG.trace(String.format("Could not find key %s in the cache", cacheKey));
       writeToCache(inputFile);
-    } catch (IOException | NoSuchAlgorithmException e) {
+    } catch (IOException e) {
       LOG.warn(String.format(HASH_COMPUTE_FAIL_MSG, inputFile.key()));
     }
     return false;
   }
 
+  /**
+   * Compares the hash of the file with the one cached by the previous analysis, without writing to the cache.
+   */
+  public boolean isUnchanged(InputFile inputFile) {
+    if (!enabled) {
+      return inputFile.status() == InputFile.Status.SAME;
+    }
+    String cacheKey = getCacheKey(inputFile);
+    if (!readCache.contains(cacheKey)) {
+      return false;
+    }
+    try (InputStream cachedHash = readCache.read(cacheKey)) {
+      return MessageDigest.isEqual(contentHash(inputFile), cachedHash.readAllBytes());
+    } catch (IOException e) {
+      LOG.warn(String.format(HASH_COMPUTE_FAIL_MSG, inputFile.key()));
+      return false;
+    }
+  }
+
   public boolean contains(InputFile inputFile) {
     if (!enabled) {
       LOG.trace("Cannot lookup cached hashes when the cache is disabled ({}).", inputFile.key());
@@ -95,16 +127,37 @@ public class ContentHashCache {
     LOG.trace("Writing to the cache for file {}", inputFile.key());
     String cacheKey = getCacheKey(inputFile);
     try {
-      writeCache.write(cacheKey, FileHashingUtils.inputFileContentHash(inputFile));
+      writeCache.write(cacheKey, contentHash(inputFile));
       return true;
     } catch (IllegalArgumentException e) {
       LOG.trace(String.format("Tried to write multiple times to cache key %s. Ignoring writes after the first.", cacheKey));
-    } catch (IOException | NoSuchAlgorithmException e) {
+    } catch (IOException e) {
       LOG.warn(String.format(HASH_COMPUTE_FAIL_MSG, inputFile.key()));
     }
     return false;
   }
 
+  /**
+   * Computes in parallel the content hashes of the given files. Files whose hash cannot be computed are left out, their hash
+   * is computed again, and the failure reported, when needed.
+   */
+  public static Map<String, byte[]> computeHashes(Collection<? extends InputFile> inputFiles) {
+    Map<String, byte[]> hashes = new ConcurrentHashMap<>();
+    inputFiles.parallelStream().forEach(inputFile -> {
+      try {
+        hashes.put(inputFile.key(), FileHashingUtils.inputFileContentHash(inputFile));
+      } catch (IOException e) {
+        LOG.trace("Failed to precompute content hash for file {}", inputFile.key());
+      }
+    });
+    return hashes;
+  }
+
+  private byte[] contentHash(InputFile inputFile) throws IOException {
+    byte[] hash = precomputedHashes.get(inputFile.key());
+    return hash != null ? hash : FileHashingUtils.inputFileContentHash(inputFile);
+  }
+
   private void copyFromPrevious(InputFile inputFile) {
     LOG.trace("Copying cache from previous for file {}", inputFile.key());
     writeCache.copyFromPrevious(getCacheKey(inputFile));
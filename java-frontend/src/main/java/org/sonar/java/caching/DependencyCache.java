@@ -0,0 +1,180 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.caching;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.CheckForNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.cache.ReadCache;
+import org.sonar.api.batch.sensor.cache.WriteCache;
+
+/**
+ * Persists, for each analyzed file, the top-level types it declares and the ones it references.
+ * On the next analysis, unchanged files depending, directly or transitively, on the types declared by changed files can then be
+ * analyzed again, instead of being skipped.
+ */
+public class DependencyCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DependencyCache.class);
+  private static final String DEPENDENCIES_KEY = "java:dependencies:";
+  private static final char SEPARATOR = ',';
+
+  private ReadCache readCache;
+  private WriteCache writeCache;
+  private final boolean enabled;
+
+  public DependencyCache(SensorContext context) {
+    CacheContextImpl cacheContext = CacheContextImpl.of(context);
+    enabled = cacheContext.isCacheEnabled();
+
+    if (enabled) {
+      readCache = context.previousCache();
+      writeCache = context.nextCache();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void write(InputFile inputFile, Collection<String> declaredTypes, Collection<String> referencedTypes) {
+    if (!enabled) {
+      return;
+    }
+    String content = String.join(String.valueOf(SEPARATOR), declaredTypes) + "\n" + String.join(String.valueOf(SEPARATOR), referencedTypes);
+    try {
+      writeCache.write(getCacheKey(inputFile), content.getBytes(StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      LOG.trace("Dependencies of {} have already been written to the cache.", inputFile.key());
+    }
+  }
+
+  public boolean hasPrevious(InputFile inputFile) {
+    return enabled && readCache.contains(getCacheKey(inputFile));
+  }
+
+  public void copyFromPrevious(InputFile inputFile) {
+    if (hasPrevious(inputFile)) {
+      try {
+        writeCache.copyFromPrevious(getCacheKey(inputFile));
+      } catch (IllegalArgumentException e) {
+        LOG.trace("Dependencies of {} have already been written to the cache.", inputFile.key());
+      }
+    }
+  }
+
+  /**
+   * Computes the unchanged files which depend, directly or transitively, on a type declared by a changed file in the previous analysis.
+   * Files for which the previous analysis did not record any dependency are never invalidated.
+   *
+   * @return the keys of the invalidated files
+   */
+  public Set<String> filesDependingOnChangedFiles(Collection<? extends InputFile> inputFiles, Predicate<InputFile> hasChanged) {
+    if (!enabled) {
+      return Collections.emptySet();
+    }
+    Map<String, Entry> entries = new HashMap<>();
+    Map<String, List<String>> dependentsByType = new HashMap<>();
+    Deque<String> changedTypes = new ArrayDeque<>();
+    Set<String> changedFiles = new HashSet<>();
+    for (InputFile inputFile : inputFiles) {
+      Entry entry = read(inputFile);
+      if (entry == null) {
+        continue;
+      }
+      entries.put(inputFile.key(), entry);
+      entry.referencedTypes.forEach(type -> dependentsByType.computeIfAbsent(type, k -> new ArrayList<>()).add(inputFile.key()));
+      if (hasChanged.test(inputFile)) {
+        changedFiles.add(inputFile.key());
+        changedTypes.addAll(entry.declaredTypes);
+      }
+    }
+
+    Set<String> invalidatedFiles = new HashSet<>();
+    Set<String> visitedTypes = new HashSet<>();
+    while (!changedTypes.isEmpty()) {
+      String type = changedTypes.pop();
+      if (!visitedTypes.add(type)) {
+        continue;
+      }
+      for (String dependent : dependentsByType.getOrDefault(type, Collections.emptyList())) {
+        if (!changedFiles.contains(dependent) && invalidatedFiles.add(dependent)) {
+          changedTypes.addAll(entries.get(dependent).declaredTypes);
+        }
+      }
+    }
+    return invalidatedFiles;
+  }
+
+  @CheckForNull
+  private Entry read(InputFile inputFile) {
+    String cacheKey = getCacheKey(inputFile);
+    if (!readCache.contains(cacheKey)) {
+      return null;
+    }
+    try (InputStream in = readCache.read(cacheKey)) {
+      String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      int endOfDeclaredTypes = content.indexOf('\n');
+      if (endOfDeclaredTypes < 0) {
+        return null;
+      }
+      return new Entry(split(content.substring(0, endOfDeclaredTypes)), split(content.substring(endOfDeclaredTypes + 1)));
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.trace("Unable to read the dependencies of {} from the cache.", inputFile.key());
+      return null;
+    }
+  }
+
+  private static List<String> split(String typeNames) {
+    return typeNames.isEmpty() ? Collections.emptyList() : Arrays.asList(typeNames.split(String.valueOf(SEPARATOR)));
+  }
+
+  private static String getCacheKey(InputFile inputFile) {
+    return DEPENDENCIES_KEY + inputFile.key();
+  }
+
+  private static class Entry {
+    private final List<String> declaredTypes;
+    private final List<String> referencedTypes;
+
+    private Entry(List<String> declaredTypes, List<String> referencedTypes) {
+      this.declaredTypes = declaredTypes;
+      this.referencedTypes = referencedTypes;
+    }
+  }
+
+}
@@ -21,12 +21,15 @@ package org.sonar.java.caching;
 
 import org.sonar.api.batch.fs.InputFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -35,19 +38,51 @@ public class FileHashingUtils {
   private FileHashingUtils() {
   }
 
-  public static final String HASH_ALGORITHM = "MD5";
+  /**
+   * Part of the content hash cache keys, so that hashes computed with another algorithm are never compared with the current ones.
+   */
+  public static final String HASH_ALGORITHM = "MURMUR3_128";
 
-  public static byte[] inputFileContentHash(InputFile inputFile) throws IOException, NoSuchAlgorithmException {
-    byte[] contentBytes = inputFile.contents().getBytes(StandardCharsets.UTF_8);
-    MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
-    return messageDigest.digest(contentBytes);
+  /**
+   * Size of the buffer the files are read through, a multiple of the hash block size.
+   */
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Hashes the bytes of the file on disk when the input file is backed by a local file, its contents otherwise.
+   */
+  public static byte[] inputFileContentHash(InputFile inputFile) throws IOException {
+    Path path = localFile(inputFile.uri());
+    if (path != null) {
+      return contentHash(path);
+    }
+    return new Murmur3Hash128().update(inputFile.contents().getBytes(UTF_8)).digest();
+  }
+
+  public static byte[] inputFileContentHash(String filepath) throws IOException {
+    return contentHash(Path.of(filepath));
+  }
+
+  private static byte[] contentHash(Path path) throws IOException {
+    Murmur3Hash128 hash = new Murmur3Hash128();
+    ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      while (channel.read(buffer) >= 0) {
+        buffer.flip();
+        hash.update(buffer);
+        buffer.clear();
+      }
+    }
+    return hash.digest();
   }
 
-  public static byte[] inputFileContentHash(String filepath) throws IOException, NoSuchAlgorithmException {
-    File file = new File(filepath);
-    String contents = new String(Files.readAllBytes(file.toPath()), UTF_8);
-    MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
-    return messageDigest.digest(contents.getBytes(UTF_8));
+  @CheckForNull
+  private static Path localFile(@Nullable URI uri) {
+    if (uri == null || !"file".equals(uri.getScheme())) {
+      return null;
+    }
+    Path path = Path.of(uri);
+    return Files.isRegularFile(path) ? path : null;
   }
 
 }
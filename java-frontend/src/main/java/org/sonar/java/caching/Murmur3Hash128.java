@@ -0,0 +1,120 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.caching;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming implementation of the x64 128-bit variant of MurmurHash3, with a seed of 0.
+ * The digest is the little-endian encoding of the two 64-bit halves of the hash.
+ */
+final class Murmur3Hash128 {
+
+  static final int DIGEST_LENGTH = 16;
+
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private final ByteBuffer pending = ByteBuffer.allocate(DIGEST_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+  private long h1 = 0L;
+  private long h2 = 0L;
+  private long length = 0L;
+
+  Murmur3Hash128 update(byte[] bytes) {
+    return update(ByteBuffer.wrap(bytes));
+  }
+
+  Murmur3Hash128 update(ByteBuffer buffer) {
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    length += buffer.remaining();
+    if (pending.position() > 0) {
+      while (pending.hasRemaining() && buffer.hasRemaining()) {
+        pending.put(buffer.get());
+      }
+      if (pending.hasRemaining()) {
+        return this;
+      }
+      pending.flip();
+      mixBlock(pending.getLong(), pending.getLong());
+      pending.clear();
+    }
+    while (buffer.remaining() >= DIGEST_LENGTH) {
+      mixBlock(buffer.getLong(), buffer.getLong());
+    }
+    pending.put(buffer);
+    return this;
+  }
+
+  byte[] digest() {
+    long k1 = 0L;
+    long k2 = 0L;
+    for (int i = 0; i < pending.position(); i++) {
+      long b = pending.get(i) & 0xFFL;
+      if (i < 8) {
+        k1 ^= b << (8 * i);
+      } else {
+        k2 ^= b << (8 * (i - 8));
+      }
+    }
+    h1 ^= mixK1(k1);
+    h2 ^= mixK2(k2);
+
+    h1 ^= length;
+    h2 ^= length;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix64(h1);
+    h2 = fmix64(h2);
+    h1 += h2;
+    h2 += h1;
+    return ByteBuffer.allocate(DIGEST_LENGTH).order(ByteOrder.LITTLE_ENDIAN).putLong(h1).putLong(h2).array();
+  }
+
+  private void mixBlock(long k1, long k2) {
+    h1 ^= mixK1(k1);
+    h1 = Long.rotateLeft(h1, 27);
+    h1 += h2;
+    h1 = h1 * 5 + 0x52dce729;
+
+    h2 ^= mixK2(k2);
+    h2 = Long.rotateLeft(h2, 31);
+    h2 += h1;
+    h2 = h2 * 5 + 0x38495ab5;
+  }
+
+  private static long mixK1(long k1) {
+    return Long.rotateLeft(k1 * C1, 31) * C2;
+  }
+
+  private static long mixK2(long k2) {
+    return Long.rotateLeft(k2 * C2, 33) * C1;
+  }
+
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+}
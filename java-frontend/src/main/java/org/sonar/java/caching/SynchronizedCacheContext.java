@@ -0,0 +1,123 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.caching;
+
+import java.io.InputStream;
+import javax.annotation.CheckForNull;
+import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+/**
+ * Cache context shared by visitors running in several analysis threads: the accesses to the caches of the sensor are serialized
+ * on the given lock.
+ */
+public class SynchronizedCacheContext implements CacheContext {
+
+  private final CacheContext cacheContext;
+  private final JavaReadCache readCache;
+  private final JavaWriteCache writeCache;
+
+  public SynchronizedCacheContext(CacheContext cacheContext, Object lock) {
+    this.cacheContext = cacheContext;
+    this.readCache = new SynchronizedReadCache(cacheContext.getReadCache(), lock);
+    this.writeCache = new SynchronizedWriteCache(cacheContext.getWriteCache(), lock);
+  }
+
+  @Override
+  public boolean isCacheEnabled() {
+    return cacheContext.isCacheEnabled();
+  }
+
+  @Override
+  public JavaReadCache getReadCache() {
+    return readCache;
+  }
+
+  @Override
+  public JavaWriteCache getWriteCache() {
+    return writeCache;
+  }
+
+  private static class SynchronizedReadCache implements JavaReadCache {
+
+    private final JavaReadCache readCache;
+    private final Object lock;
+
+    SynchronizedReadCache(JavaReadCache readCache, Object lock) {
+      this.readCache = readCache;
+      this.lock = lock;
+    }
+
+    @Override
+    public InputStream read(String key) {
+      synchronized (lock) {
+        return readCache.read(key);
+      }
+    }
+
+    @CheckForNull
+    @Override
+    public byte[] readBytes(String key) {
+      synchronized (lock) {
+        return readCache.readBytes(key);
+      }
+    }
+
+    @Override
+    public boolean contains(String key) {
+      synchronized (lock) {
+        return readCache.contains(key);
+      }
+    }
+  }
+
+  private static class SynchronizedWriteCache implements JavaWriteCache {
+
+    private final JavaWriteCache writeCache;
+    private final Object lock;
+
+    SynchronizedWriteCache(JavaWriteCache writeCache, Object lock) {
+      this.writeCache = writeCache;
+      this.lock = lock;
+    }
+
+    @Override
+    public void write(String key, InputStream data) {
+      synchronized (lock) {
+        writeCache.write(key, data);
+      }
+    }
+
+    @Override
+    public void write(String key, byte[] data) {
+      synchronized (lock) {
+        writeCache.write(key, data);
+      }
+    }
+
+    @Override
+    public void copyFromPrevious(String key) {
+      synchronized (lock) {
+        writeCache.copyFromPrevious(key);
+      }
+    }
+  }
+}
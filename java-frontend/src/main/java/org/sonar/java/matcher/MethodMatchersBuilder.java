@@ -22,6 +22,7 @@ package org.sonar.java.matcher;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import javax.annotation.CheckForNull;
@@ -47,18 +48,27 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
   @Nullable
   private final Predicate<String> namePredicate;
 
+  /**
+   * Names accepted by the name predicate, or null when the predicate is not a plain list of names
+   */
+  @Nullable
+  private final Set<String> names;
+
   @Nullable
   private final Predicate<List<Type>> parametersPredicate;
 
   public MethodMatchersBuilder() {
     this.typePredicate = null;
     this.namePredicate = null;
+    this.names = null;
     this.parametersPredicate = null;
   }
 
-  private MethodMatchersBuilder(@Nullable Predicate<Type> typePredicate, @Nullable Predicate<String> namePredicate, @Nullable Predicate<List<Type>> parametersPredicate) {
+  private MethodMatchersBuilder(@Nullable Predicate<Type> typePredicate, @Nullable Predicate<String> namePredicate, @Nullable Set<String> names,
+    @Nullable Predicate<List<Type>> parametersPredicate) {
     this.typePredicate = typePredicate;
     this.namePredicate = namePredicate;
+    this.names = names;
     this.parametersPredicate = parametersPredicate;
   }
 
@@ -111,15 +121,17 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public NameBuilder ofType(Predicate<Type> typePredicate) {
-    return new MethodMatchersBuilder(or(this.typePredicate, typePredicate), namePredicate, parametersPredicate);
+    return new MethodMatchersBuilder(or(this.typePredicate, typePredicate), namePredicate, names, parametersPredicate);
   }
 
   @Override
   public ParametersBuilder names(String... names) {
-    return name(substituteAnyAndCreateEfficientPredicate(
+    Predicate<String> predicate = substituteAnyAndCreateEfficientPredicate(
       names,
       name -> name::equals,
-      nameList -> nameList::contains));
+      nameList -> nameList::contains);
+    Set<String> knownNames = namePredicate == null && !Arrays.asList(names).contains(ANY) ? SetUtils.immutableSetOf(names) : null;
+    return new MethodMatchersBuilder(typePredicate, or(this.namePredicate, predicate), knownNames, parametersPredicate);
   }
 
   @Override
@@ -134,7 +146,7 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public ParametersBuilder name(Predicate<String> namePredicate) {
-    return new MethodMatchersBuilder(typePredicate, or(this.namePredicate, namePredicate), parametersPredicate);
+    return new MethodMatchersBuilder(typePredicate, or(this.namePredicate, namePredicate), null, parametersPredicate);
   }
 
   @Override
@@ -163,7 +175,7 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public ParametersBuilder addParametersMatcher(Predicate<List<Type>> parametersPredicate) {
-    return new MethodMatchersBuilder(typePredicate, namePredicate, or(this.parametersPredicate, parametersPredicate));
+    return new MethodMatchersBuilder(typePredicate, namePredicate, names, or(this.parametersPredicate, parametersPredicate));
   }
 
   private static boolean exactMatchesParameters(List<Predicate<Type>> expectedTypes, List<Type> actualTypes) {
@@ -186,8 +198,9 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public boolean matches(MethodInvocationTree mit) {
-    IdentifierTree id = getIdentifier(mit);
-    return matches(id.symbol(), getCallSiteType(mit));
+    Symbol symbol = getIdentifier(mit).symbol();
+    // the type of the call site is only resolved for the methods having one of the searched names
+    return hasSearchedName(symbol) && matches(symbol, getCallSiteType(mit));
   }
 
   @Override
@@ -199,7 +212,8 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public boolean matches(MethodReferenceTree methodReferenceTree) {
-    return matches(methodReferenceTree.method().symbol(), getCallSiteType(methodReferenceTree));
+    Symbol symbol = methodReferenceTree.method().symbol();
+    return hasSearchedName(symbol) && matches(symbol, getCallSiteType(methodReferenceTree));
   }
 
   @Override
@@ -215,6 +229,18 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
     return this;
   }
 
+  /**
+   * @return the names of the searched methods, or null if the names can not be known without testing the name predicate
+   */
+  @CheckForNull
+  Set<String> names() {
+    return names;
+  }
+
+  private boolean hasSearchedName(Symbol symbol) {
+    return symbol.isMethodSymbol() && namePredicate.test(symbol.name());
+  }
+
   private boolean matches(Symbol symbol, @Nullable Type callSiteType) {
     return symbol.isMethodSymbol() && isSearchedMethod((Symbol.MethodSymbol) symbol, callSiteType);
   }
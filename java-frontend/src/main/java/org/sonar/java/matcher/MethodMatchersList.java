@@ -20,45 +20,77 @@
 package org.sonar.java.matcher;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodReferenceTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
+/**
+ * The matchers searching for methods of given names are indexed by name: only the matchers having the name of the method are
+ * tested, with the matchers whose names are not known in advance.
+ */
 public class MethodMatchersList implements MethodMatchers {
 
-  private List<? extends MethodMatchers> matchers;
+  private final Map<String, List<MethodMatchers>> matchersByName = new HashMap<>();
+  private final List<MethodMatchers> matchersOfAnyName = new ArrayList<>();
 
   public MethodMatchersList(List<? extends MethodMatchers> matchers) {
-    this.matchers = new ArrayList<>(matchers);
+    for (MethodMatchers matcher : matchers) {
+      Set<String> names = matcher instanceof MethodMatchersBuilder builder ? builder.names() : null;
+      if (names == null) {
+        matchersOfAnyName.add(matcher);
+      } else {
+        names.forEach(name -> matchersByName.computeIfAbsent(name, n -> new ArrayList<>()).add(matcher));
+      }
+    }
   }
 
   @Override
   public boolean matches(NewClassTree newClassTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(newClassTree));
+    return anyMatch(newClassTree.methodSymbol(), matcher -> matcher.matches(newClassTree));
   }
 
   @Override
   public boolean matches(MethodInvocationTree mit) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(mit));
+    ExpressionTree methodSelect = mit.methodSelect();
+    // methodSelect can only be Tree.Kind.IDENTIFIER or Tree.Kind.MEMBER_SELECT
+    IdentifierTree identifier = methodSelect.is(Tree.Kind.IDENTIFIER) ? (IdentifierTree) methodSelect : ((MemberSelectExpressionTree) methodSelect).identifier();
+    return anyMatch(identifier.symbol(), matcher -> matcher.matches(mit));
   }
 
   @Override
   public boolean matches(MethodTree methodTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(methodTree));
+    return anyMatch(methodTree.symbol(), matcher -> matcher.matches(methodTree));
   }
 
   @Override
   public boolean matches(MethodReferenceTree methodReferenceTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(methodReferenceTree));
+    return anyMatch(methodReferenceTree.method().symbol(), matcher -> matcher.matches(methodReferenceTree));
   }
 
   @Override
   public boolean matches(Symbol symbol) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(symbol));
+    return anyMatch(symbol, matcher -> matcher.matches(symbol));
+  }
+
+  /**
+   * Matchers with known names only match method symbols having one of these names.
+   */
+  private boolean anyMatch(Symbol symbol, Predicate<MethodMatchers> matches) {
+    List<MethodMatchers> matchersOfName = symbol.isMethodSymbol() ? matchersByName.getOrDefault(symbol.name(), Collections.emptyList()) : Collections.emptyList();
+    return matchersOfName.stream().anyMatch(matches) || matchersOfAnyName.stream().anyMatch(matches);
   }
 
 }
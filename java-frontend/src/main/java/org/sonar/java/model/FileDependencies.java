@@ -0,0 +1,102 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+
+/**
+ * Top-level types declared and referenced by a file, as resolved by ECJ. Only the types of the project are taken into account:
+ * the ones resolved from source, and the ones compiled by the project, which are resolved from its binaries when they are not
+ * part of the same batch. Types of the JDK and of the libraries are ignored.
+ */
+public final class FileDependencies {
+
+  private final Predicate<String> isCompiledProjectType;
+  private final Set<String> declaredTypes = new TreeSet<>();
+  private final Set<String> referencedTypes = new TreeSet<>();
+
+  private FileDependencies(Predicate<String> isCompiledProjectType) {
+    this.isCompiledProjectType = isCompiledProjectType;
+  }
+
+  /**
+   * @param isCompiledProjectType tells, from its qualified name, if a top-level type resolved from bytecode is compiled by the project
+   */
+  public static FileDependencies of(JavaTree.CompilationUnitTreeImpl tree, Predicate<String> isCompiledProjectType) {
+    FileDependencies dependencies = new FileDependencies(isCompiledProjectType);
+    JSema sema = tree.sema;
+    if (sema == null) {
+      return dependencies;
+    }
+    sema.declarations.keySet().forEach(binding -> dependencies.add(dependencies.declaredTypes, owningType(binding)));
+    sema.usages.keySet().forEach(binding -> dependencies.add(dependencies.referencedTypes, owningType(binding)));
+    dependencies.referencedTypes.removeAll(dependencies.declaredTypes);
+    return dependencies;
+  }
+
+  public Set<String> declaredTypes() {
+    return declaredTypes;
+  }
+
+  public Set<String> referencedTypes() {
+    return referencedTypes;
+  }
+
+  @Nullable
+  private static ITypeBinding owningType(IBinding binding) {
+    switch (binding.getKind()) {
+      case IBinding.TYPE:
+        return (ITypeBinding) binding;
+      case IBinding.METHOD:
+        return ((IMethodBinding) binding).getDeclaringClass();
+      case IBinding.VARIABLE:
+        IVariableBinding variableBinding = (IVariableBinding) binding;
+        return variableBinding.isField() ? variableBinding.getDeclaringClass() : null;
+      default:
+        return null;
+    }
+  }
+
+  private void add(Set<String> typeNames, @Nullable ITypeBinding typeBinding) {
+    if (typeBinding == null) {
+      return;
+    }
+    ITypeBinding type = typeBinding.isArray() ? typeBinding.getElementType() : typeBinding;
+    type = type.getErasure();
+    if (type.isPrimitive() || type.isTypeVariable() || type.isCapture() || type.isWildcardType() || type.isRecovered()) {
+      return;
+    }
+    while (type.getDeclaringClass() != null) {
+      type = type.getDeclaringClass();
+    }
+    String name = type.getQualifiedName();
+    if (!name.isEmpty() && (type.isFromSource() || isCompiledProjectType.test(name))) {
+      typeNames.add(name);
+    }
+  }
+
+}
@@ -30,12 +30,19 @@ import org.sonar.plugins.java.api.tree.TreeVisitor;
 public class InternalSyntaxToken extends JavaTree implements SyntaxToken {
 
   private final List<SyntaxTrivia> trivias;
-  private final Range range;
   private final String value;
+  private final int line;
+  private final int columnOffset;
   private final boolean isEOF;
+  /**
+   * Created when requested, as most of the tokens are only asked for their line and column
+   */
+  private Range range;
 
   protected InternalSyntaxToken(InternalSyntaxToken internalSyntaxToken) {
     this.value = internalSyntaxToken.value;
+    this.line = internalSyntaxToken.line;
+    this.columnOffset = internalSyntaxToken.columnOffset;
     this.range = internalSyntaxToken.range;
     this.trivias = internalSyntaxToken.trivias;
     this.isEOF = internalSyntaxToken.isEOF;
@@ -43,15 +50,21 @@ public class InternalSyntaxToken extends JavaTree implements SyntaxToken {
 
   public InternalSyntaxToken(int line, int columnOffset, String value, List<SyntaxTrivia> trivias, boolean isEOF) {
     this.value = value;
+    this.line = line;
+    this.columnOffset = columnOffset;
     this.trivias = trivias;
     this.isEOF = isEOF;
-    range = value.startsWith("\"\"\"")
-      ? Range.at(InternalPosition.atOffset(line, columnOffset), value)
-      : Range.at(InternalPosition.atOffset(line, columnOffset), value.length());
+    if (value.startsWith("\"\"\"")) {
+      // text blocks can span several lines
+      range = Range.at(InternalPosition.atOffset(line, columnOffset), value);
+    }
   }
 
   @Override
   public Range range() {
+    if (range == null) {
+      range = Range.at(InternalPosition.atOffset(line, columnOffset), value.length());
+    }
     return range;
   }
 
@@ -82,17 +95,17 @@ public class InternalSyntaxToken extends JavaTree implements SyntaxToken {
 
   @Override
   public int getLine() {
-    return range.start().line();
+    return line;
   }
 
   @Override
   public int line() {
-    return range.start().line();
+    return line;
   }
 
   @Override
   public int column() {
-    return range.start().columnOffset();
+    return columnOffset;
   }
 
   @Override
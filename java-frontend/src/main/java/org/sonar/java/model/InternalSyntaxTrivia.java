@@ -30,15 +30,20 @@ import org.sonar.plugins.java.api.tree.TreeVisitor;
 public class InternalSyntaxTrivia extends JavaTree implements SyntaxTrivia {
 
   private final String comment;
-
-  @Nonnull
-  private final Range range;
+  private final int line;
+  private final int columnOffset;
+  /**
+   * Created when requested, except for block comments which can span several lines
+   */
+  private Range range;
 
   public InternalSyntaxTrivia(String comment, int line, int columnOffset) {
     this.comment = comment;
-    range = comment.startsWith("/*")
-      ? Range.at(InternalPosition.atOffset(line, columnOffset), comment)
-      : Range.at(InternalPosition.atOffset(line, columnOffset), comment.length());
+    this.line = line;
+    this.columnOffset = columnOffset;
+    if (comment.startsWith("/*")) {
+      range = Range.at(InternalPosition.atOffset(line, columnOffset), comment);
+    }
   }
 
   @Override
@@ -48,7 +53,7 @@ public class InternalSyntaxTrivia extends JavaTree implements SyntaxTrivia {
 
   @Override
   public int startLine() {
-    return range.start().line();
+    return line;
   }
 
   @Override
@@ -77,17 +82,20 @@ public class InternalSyntaxTrivia extends JavaTree implements SyntaxTrivia {
 
   @Override
   public int getLine() {
-    return range.start().line();
+    return line;
   }
 
   @Override
   public int column() {
-    return range.start().columnOffset();
+    return columnOffset;
   }
 
   @Nonnull
   @Override
   public Range range() {
+    if (range == null) {
+      range = Range.at(InternalPosition.atOffset(line, columnOffset), comment.length());
+    }
     return range;
   }
 
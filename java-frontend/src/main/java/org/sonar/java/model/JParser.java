@@ -20,6 +20,7 @@
 package org.sonar.java.model;
 
 import com.sonar.sslr.api.RecognitionException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -260,13 +261,19 @@ public class JParser {
   private static final Predicate<IProblem> IS_SYNTAX_ERROR = error -> (error.getID() & IProblem.Syntax) != 0;
   private static final Predicate<IProblem> IS_UNDEFINED_TYPE_ERROR = error -> (error.getID() & IProblem.UndefinedType) != 0;
 
+  /**
+   * Only read by the {@link TokenManager}, so the default options are shared by all the files
+   */
+  private static final DefaultCodeFormatterOptions FORMATTER_OPTIONS = new DefaultCodeFormatterOptions(new HashMap<>());
+
   /**
    * @param unitName see {@link ASTParser#setUnitName(String)}
    * @throws RecognitionException in case of syntax errors
    */
   public static JavaTree.CompilationUnitTreeImpl parse(ASTParser astParser, String version, String unitName, String source) {
     astParser.setUnitName(unitName);
-    astParser.setSource(source.toCharArray());
+    char[] sourceChars = source.toCharArray();
+    astParser.setSource(sourceChars);
 
     CompilationUnit astNode;
     try {
@@ -276,10 +283,24 @@ public class JParser {
       throw new RecognitionException(-1, "ECJ: Unable to parse file.", e);
     }
 
-    return convert(version, unitName, source, astNode);
+    return convert(version, unitName, source, sourceChars, astNode, new TypeHierarchyCache());
   }
 
   static JavaTree.CompilationUnitTreeImpl convert(String version, String unitName, String source, CompilationUnit astNode) {
+    return convert(version, unitName, source, astNode, new TypeHierarchyCache());
+  }
+
+  static JavaTree.CompilationUnitTreeImpl convert(String version, String unitName, String source, CompilationUnit astNode,
+    TypeHierarchyCache typeHierarchyCache) {
+    return convert(version, unitName, source, source.toCharArray(), astNode, typeHierarchyCache);
+  }
+
+  /**
+   * @param sourceChars characters of the source, which are only read: when the source has already been copied to be parsed by ECJ,
+   *                    the same copy is lexed
+   */
+  private static JavaTree.CompilationUnitTreeImpl convert(String version, String unitName, String source, char[] sourceChars,
+    CompilationUnit astNode, TypeHierarchyCache typeHierarchyCache) {
     List<IProblem> errors = Stream.of(astNode.getProblems()).filter(IProblem::isError).toList();
     Optional<IProblem> possibleSyntaxError = errors.stream().filter(IS_SYNTAX_ERROR).findFirst();
     if (possibleSyntaxError.isPresent()) {
@@ -299,10 +320,10 @@ public class JParser {
       .collect(Collectors.toSet());
 
     JParser converter = new JParser();
-    converter.sema = new JSema(astNode.getAST());
+    converter.sema = new JSema(astNode.getAST(), typeHierarchyCache);
     converter.sema.undefinedTypes.addAll(undefinedTypes);
     converter.compilationUnit = astNode;
-    converter.tokenManager = new TokenManager(lex(version, unitName, source.toCharArray()), source, new DefaultCodeFormatterOptions(new HashMap<>()));
+    converter.tokenManager = new TokenManager(lex(version, unitName, sourceChars), source, FORMATTER_OPTIONS);
 
     JavaTree.CompilationUnitTreeImpl tree = converter.convertCompilationUnit(astNode);
     tree.sema = converter.sema;
@@ -314,12 +335,21 @@ public class JParser {
     return tree;
   }
 
-  private static void setParents(Tree node) {
-    Iterator<Tree> childrenIterator = iteratorFor(node);
-    while (childrenIterator.hasNext()) {
-      Tree child = childrenIterator.next();
-      ((JavaTree) child).setParent(node);
-      setParents(child);
+  /**
+   * Trees are walked with an explicit stack rather than recursively, so that deeply nested expressions do not overflow the call stack.
+   * The children of each tree are materialized during the walk.
+   */
+  private static void setParents(Tree root) {
+    Deque<Tree> trees = new ArrayDeque<>();
+    trees.push(root);
+    while (!trees.isEmpty()) {
+      Tree node = trees.pop();
+      Iterator<Tree> childrenIterator = iteratorFor(node);
+      while (childrenIterator.hasNext()) {
+        Tree child = childrenIterator.next();
+        ((JavaTree) child).setParent(node);
+        trees.push(child);
+      }
     }
   }
 
@@ -365,6 +395,11 @@ public class JParser {
 
   private JSema sema;
 
+  /**
+   * Texts of the tokens of the file: the tokens having the same text share the same string.
+   */
+  private final Map<String, String> tokenTexts = new HashMap<>();
+
   private final Deque<JLabelSymbol> labels = new LinkedList<>();
 
   private void declaration(@Nullable IBinding binding, Tree node) {
@@ -463,12 +498,18 @@ public class JParser {
     return new InternalSyntaxToken(
       compilationUnit.getLineNumber(t.originalStart),
       compilationUnit.getColumnNumber(t.originalStart),
-      t.toString(tokenManager.getSource()),
+      tokenText(t),
       collectComments(tokenIndex),
       false
     );
   }
 
+  private String tokenText(Token t) {
+    String text = t.toString(tokenManager.getSource());
+    String sharedText = tokenTexts.putIfAbsent(text, text);
+    return sharedText == null ? text : sharedText;
+  }
+
   private InternalSyntaxToken createSpecialToken(int tokenIndex) {
     Token t = tokenManager.get(tokenIndex);
     List<SyntaxTrivia> comments = t.tokenType == TerminalTokens.TokenNameGREATER
@@ -488,7 +529,10 @@ public class JParser {
     while (commentIndex > 0 && tokenManager.get(commentIndex - 1).isComment()) {
       commentIndex--;
     }
-    List<SyntaxTrivia> comments = new ArrayList<>();
+    if (commentIndex == tokenIndex) {
+      return Collections.emptyList();
+    }
+    List<SyntaxTrivia> comments = new ArrayList<>(tokenIndex - commentIndex);
     for (int i = commentIndex; i < tokenIndex; i++) {
       Token t = tokenManager.get(i);
       comments.add(new InternalSyntaxTrivia(
@@ -172,6 +172,8 @@ public abstract class JParserConfig {
 
       ExecutionTimeReport executionTimeReport = new ExecutionTimeReport();
       ProgressMonitor monitor = new ProgressMonitor(isCanceled, analysisProgress);
+      // the files of the batch share the same compiler environment, so their types can share the answers to the subtype queries
+      TypeHierarchyCache typeHierarchyCache = new TypeHierarchyCache();
       PerformanceMeasure.Duration batchPerformance = PerformanceMeasure.start("ParseAsBatch");
       try {
         astParser().createASTs(sourceFilePaths.toArray(new String[0]), encodings.toArray(new String[0]), new String[0], new FileASTRequestor() {
@@ -182,7 +184,8 @@ public abstract class JParserConfig {
             executionTimeReport.start(inputFile);
             Result result;
             try {
-              result = new Result(JParser.convert(javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents(), ast));
+              result = new Result(JParser.convert(javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents(), ast,
+                typeHierarchyCache));
             } catch (Exception e) {
               result = new Result(e);
             }
@@ -210,6 +213,7 @@ public abstract class JParserConfig {
         batchPerformance.stop();
         // ExecutionTimeReport will not include the parsing time by file when using batch mode.
         executionTimeReport.reportAsBatch();
+        LOG.debug("Batch of {} files: {}", sourceFilePaths.size(), typeHierarchyCache);
         monitor.done();
       }
     }
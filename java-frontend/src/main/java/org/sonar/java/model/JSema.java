@@ -52,9 +52,22 @@ public final class JSema implements Sema {
   private final Map<Symbol.TypeSymbol, JInitializerBlockSymbol> staticInitializerBlockSymbols = new HashMap<>();
   private final Map<IAnnotationBinding, JSymbolMetadata.JAnnotationInstance> annotations = new HashMap<>();
   private final Map<String, Type> nameToTypeCache = new HashMap<>();
+  private final TypeHierarchyCache typeHierarchyCache;
 
   JSema(AST ast) {
+    this(ast, new TypeHierarchyCache());
+  }
+
+  /**
+   * @param typeHierarchyCache answers to the subtype queries, shared with the files parsed in the same environment
+   */
+  JSema(AST ast, TypeHierarchyCache typeHierarchyCache) {
     this.ast = ast;
+    this.typeHierarchyCache = typeHierarchyCache;
+  }
+
+  TypeHierarchyCache typeHierarchyCache() {
+    return typeHierarchyCache;
   }
 
   public JType type(ITypeBinding typeBinding) {
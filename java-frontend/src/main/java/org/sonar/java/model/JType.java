@@ -72,13 +72,16 @@ final class JType implements Type, Type.ArrayType {
 
   @Override
   public boolean isSubtypeOf(String fullyQualifiedName) {
-    return isSubtypeOf(sema.getClassType(fullyQualifiedName));
+    return sema.typeHierarchyCache().isSubtypeOf(typeBinding, fullyQualifiedName, () -> isSubtypeOf(sema.getClassType(fullyQualifiedName)));
   }
 
   @Override
   public boolean isSubtypeOf(Type superType) {
-    return !superType.isUnknown()
-      && isSubtype(this.typeBinding, ((JType) superType).typeBinding);
+    if (superType.isUnknown()) {
+      return false;
+    }
+    ITypeBinding superTypeBinding = ((JType) superType).typeBinding;
+    return sema.typeHierarchyCache().isSubtypeOf(typeBinding, superTypeBinding, () -> isSubtype(typeBinding, superTypeBinding));
   }
 
   private static boolean isSubtype(ITypeBinding left, ITypeBinding right) {
@@ -137,13 +137,35 @@ public abstract class JavaTree implements Tree {
 
   public List<Tree> getChildren() {
     if(children == null) {
-      children = children().stream()
-        .filter(Objects::nonNull)
-        .toList();
+      children = withoutNulls(children());
     }
     return children;
   }
 
+  /**
+   * @return an unmodifiable list backed by an array of the exact number of non-null trees
+   */
+  private static List<Tree> withoutNulls(List<Tree> trees) {
+    int size = 0;
+    for (Tree tree : trees) {
+      if (tree != null) {
+        size++;
+      }
+    }
+    if (size == 0) {
+      return Collections.emptyList();
+    }
+    Tree[] nonNullTrees = new Tree[size];
+    int index = 0;
+    for (Tree tree : trees) {
+      if (tree != null) {
+        nonNullTrees[index] = tree;
+        index++;
+      }
+    }
+    return Collections.unmodifiableList(Arrays.asList(nonNullTrees));
+  }
+
   public boolean isLeaf() {
     return false;
   }
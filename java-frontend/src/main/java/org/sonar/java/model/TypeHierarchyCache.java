@@ -0,0 +1,93 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import javax.annotation.CheckForNull;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/**
+ * Answers to the subtype queries, shared by the files parsed together. The bindings of the files of a batch are created by the same
+ * compiler environment, in which a type is identified by the key of its binding.
+ * Type variables, wildcards and captures are not cached: their keys depend on the place where they are used.
+ */
+final class TypeHierarchyCache {
+
+  private final Map<String, Map<String, Boolean>> subtypesOfNames = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Boolean>> subtypesOfTypes = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  boolean isSubtypeOf(ITypeBinding type, String superTypeName, BooleanSupplier isSubtype) {
+    return answer(subtypesOfNames, type, superTypeName, isSubtype);
+  }
+
+  boolean isSubtypeOf(ITypeBinding type, ITypeBinding superType, BooleanSupplier isSubtype) {
+    String superTypeKey = key(superType);
+    if (superTypeKey == null) {
+      return isSubtype.getAsBoolean();
+    }
+    return answer(subtypesOfTypes, type, superTypeKey, isSubtype);
+  }
+
+  private boolean answer(Map<String, Map<String, Boolean>> answers, ITypeBinding type, String superType, BooleanSupplier isSubtype) {
+    String typeKey = key(type);
+    if (typeKey == null) {
+      return isSubtype.getAsBoolean();
+    }
+    Map<String, Boolean> answersOfType = answers.computeIfAbsent(typeKey, k -> new ConcurrentHashMap<>());
+    Boolean answer = answersOfType.get(superType);
+    if (answer != null) {
+      hits.increment();
+      return answer;
+    }
+    misses.increment();
+    boolean result = isSubtype.getAsBoolean();
+    answersOfType.put(superType, result);
+    return result;
+  }
+
+  @CheckForNull
+  private static String key(ITypeBinding typeBinding) {
+    if (typeBinding.isRecovered() || typeBinding.isTypeVariable() || typeBinding.isWildcardType() || typeBinding.isCapture()
+      || typeBinding.isIntersectionType()) {
+      return null;
+    }
+    String key = typeBinding.getKey();
+    // captures used as type arguments
+    return key == null || key.indexOf('!') >= 0 ? null : key;
+  }
+
+  long hits() {
+    return hits.sum();
+  }
+
+  long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d hits and %d misses on subtype queries", hits(), misses());
+  }
+}
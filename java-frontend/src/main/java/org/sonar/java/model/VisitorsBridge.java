@@ -23,13 +23,18 @@ import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -47,6 +52,7 @@ import org.sonar.java.annotations.VisibleForTesting;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.caching.CacheContextImpl;
+import org.sonar.java.caching.SynchronizedCacheContext;
 import org.sonar.java.exceptions.ApiMismatchException;
 import org.sonar.java.exceptions.ThrowableUtils;
 import org.sonar.plugins.java.api.InputFileScannerContext;
@@ -60,6 +66,7 @@ import org.sonar.plugins.java.api.caching.CacheContext;
 import org.sonar.plugins.java.api.internal.EndOfAnalysis;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonarsource.performance.measure.PerformanceMeasure;
@@ -67,10 +74,13 @@ import org.sonarsource.performance.measure.PerformanceMeasure;
 public class VisitorsBridge {
 
   private static final Logger LOG = LoggerFactory.getLogger(VisitorsBridge.class);
+  private static final int MAX_REPORTED_SCANNERS_REQUIRING_PARSING = 10;
 
   private final Iterable<? extends JavaCheck> visitors;
   private final List<JavaFileScanner> allScanners;
   private final List<JavaFileScanner> scannersThatCannotBeSkipped;
+  private List<JavaFileScanner> scannersWithoutParsing;
+  private Set<JavaCheck> visitorsRunByWorkers = Collections.emptySet();
   private final SonarComponents sonarComponents;
   protected InputFile currentFile;
   protected final JavaVersion javaVersion;
@@ -78,6 +88,8 @@ public class VisitorsBridge {
   protected boolean inAndroidContext = false;
   private int fullyScannedFileCount = 0;
   private int skippedFileCount = 0;
+  private final Map<String, Integer> parsingRequiredByScanner = new HashMap<>();
+  private boolean isWorkerBridge = false;
   @VisibleForTesting
   CacheContext cacheContext;
 
@@ -102,13 +114,46 @@ public class VisitorsBridge {
     updateScanners();
   }
 
+  /**
+   * Creates a bridge running the given visitors in an analysis thread, on the same files as this bridge. The symbol table
+   * and the summary of the analysis are left to this bridge.
+   *
+   * @param workerVisitors visitors instantiated for a single analysis thread
+   */
+  public VisitorsBridge createWorkerBridge(Iterable<? extends JavaCheck> workerVisitors) {
+    VisitorsBridge workerBridge = new VisitorsBridge(workerVisitors, classpath, sonarComponents, javaVersion);
+    workerBridge.setInAndroidContext(inAndroidContext);
+    workerBridge.setCacheContext(cacheContext);
+    workerBridge.isWorkerBridge = true;
+    return workerBridge;
+  }
+
+  /**
+   * The given visitors are no longer run by this bridge when visiting files, they are run by worker bridges instead.
+   * They keep being used to scan files without parsing them, which is done by a single thread, and to end the analysis.
+   * The cache, shared with the worker bridges created afterwards, is then only accessed while holding the lock of the
+   * {@link SonarComponents}, which also serializes the reporting of issues and the recording of dependencies.
+   *
+   * @see #createWorkerBridge(Iterable)
+   */
+  public void delegateToWorkers(Collection<JavaCheck> visitorsRunByWorkers) {
+    this.visitorsRunByWorkers = Set.copyOf(visitorsRunByWorkers);
+    this.cacheContext = new SynchronizedCacheContext(cacheContext, sonarComponents != null ? sonarComponents : this);
+    updateScanners();
+  }
+
   private void updateScanners() {
     allScanners.clear();
     scannersThatCannotBeSkipped.clear();
 
-    allScanners.addAll(filterVisitors(visitors, this::isVisitorJavaVersionCompatible));
+    allScanners.addAll(filterVisitors(visitors, visitor -> isVisitorJavaVersionCompatible(visitor) && !visitorsRunByWorkers.contains(visitor)));
     if (canSkipScanningOfUnchangedFiles()) {
-      scannersThatCannotBeSkipped.addAll(filterVisitors(visitors, this::isUnskippableVisitor));
+      scannersThatCannotBeSkipped.addAll(filterVisitors(visitors, visitor -> isUnskippableVisitor(visitor) && !visitorsRunByWorkers.contains(visitor)));
+    }
+    if (visitorsRunByWorkers.isEmpty() || !canSkipScanningOfUnchangedFiles()) {
+      scannersWithoutParsing = scannersThatCannotBeSkipped;
+    } else {
+      scannersWithoutParsing = filterVisitors(visitors, this::isUnskippableVisitor);
     }
   }
 
@@ -180,11 +225,15 @@ public class VisitorsBridge {
       PerformanceMeasure.Duration duration = PerformanceMeasure.start("ScanWithoutParsing");
       boolean allScansSucceeded = true;
       var fileScannerContext = createScannerContext(sonarComponents, inputFile, javaVersion, inAndroidContext, cacheContext);
-      for (var scanner: scannersThatCannotBeSkipped) {
+      for (var scanner: scannersWithoutParsing) {
         boolean exceptionIsBlownUp = false;
         PerformanceMeasure.Duration scannerDuration = PerformanceMeasure.start(scanner);
         try {
-          allScansSucceeded &= scanner.scanWithoutParsing(fileScannerContext);
+          boolean scanSucceeded = scanner.scanWithoutParsing(fileScannerContext);
+          if (!scanSucceeded && !(scanner instanceof IssuableSubscriptionVisitorsRunner)) {
+            recordParsingRequiredBy(scanner);
+          }
+          allScansSucceeded &= scanSucceeded;
         } catch (AnalysisException e) {
           // In the case where the IssuableSubscriptionVisitorsRunner throws an exception, the problem has already been
           // logged and the exception formatted.
@@ -192,6 +241,7 @@ public class VisitorsBridge {
         } catch (Exception e) {
           exceptionIsBlownUp = true;
           allScansSucceeded = false;
+          recordParsingRequiredBy(scanner);
           String failureMessage = String.format(
             "Scan without parsing of file %s failed for scanner %s.",
             inputFile,
@@ -208,17 +258,33 @@ public class VisitorsBridge {
         }
       }
       duration.stop();
+      if (allScansSucceeded) {
+        // the file will not be parsed: its dependencies are the same as in the previous analysis
+        sonarComponents.copyDependenciesFromPrevious(inputFile);
+      }
       return allScansSucceeded;
     } else {
       return false;
     }
   }
 
+  /**
+   * Unchanged files are parsed again as soon as one scanner cannot analyze them from cached data only.
+   * Keeping track of these scanners tells which ones prevent the analysis of unchanged files without parsing.
+   */
+  private void recordParsingRequiredBy(Object scanner) {
+    parsingRequiredByScanner.merge(scanner.getClass().getName(), 1, Integer::sum);
+  }
+
+  @VisibleForTesting
+  Map<String, Integer> getParsingRequiredByScanner() {
+    return Collections.unmodifiableMap(parsingRequiredByScanner);
+  }
+
   public void visitFile(@Nullable Tree parsedTree, boolean fileCanBeSkipped) {
-    if (fileCanBeSkipped) {
-      skippedFileCount++;
-    } else {
-      fullyScannedFileCount++;
+    // files visited by a worker bridge are accounted for by the bridge which created it
+    if (!isWorkerBridge) {
+      countVisitedFile(fileCanBeSkipped);
     }
 
     PerformanceMeasure.Duration compilationUnitDuration = PerformanceMeasure.start("CompilationUnit");
@@ -229,7 +295,10 @@ public class VisitorsBridge {
     boolean fileParsed = parsedTree != null;
     if (fileParsed && parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
       tree = (JavaTree.CompilationUnitTreeImpl) parsedTree;
-      createSonarSymbolTable(tree);
+      if (!isWorkerBridge) {
+        createSonarSymbolTable(tree);
+        recordDependencies(tree);
+      }
     }
     symbolTableDuration.stop();
 
@@ -250,6 +319,14 @@ public class VisitorsBridge {
     scannersDuration.stop();
   }
 
+  private void countVisitedFile(boolean fileCanBeSkipped) {
+    if (fileCanBeSkipped) {
+      skippedFileCount++;
+    } else {
+      fullyScannedFileCount++;
+    }
+  }
+
   private void interruptIfFailFast(CheckFailureException e) {
     if (sonarComponents != null && sonarComponents.shouldFailAnalysisOnException()) {
       throw new AnalysisException("Failing check", e);
@@ -263,26 +340,31 @@ public class VisitorsBridge {
   private void runScanner(Runnable action, JavaFileScanner scanner) throws CheckFailureException {
     try {
       action.run();
-    } catch (IllegalRuleParameterException e) {
+    } catch (RuntimeException e) {
+      handleScannerException(e, scanner);
+    }
+  }
+
+  private void handleScannerException(RuntimeException e, JavaFileScanner scanner) throws CheckFailureException {
+    if (e instanceof IllegalRuleParameterException) {
       // bad configuration of a rule parameter, we want to fail analysis fast.
       throw new AnalysisException("Bad configuration of rule parameter", e);
-    } catch (Exception e) {
-      Throwable rootCause = ThrowableUtils.getRootCause(e);
-      if (rootCause instanceof InterruptedIOException
-        || rootCause instanceof InterruptedException
-        || rootCause instanceof CancellationException
-        || analysisCancelled()) {
-        throw e;
-      }
+    }
+    Throwable rootCause = ThrowableUtils.getRootCause(e);
+    if (rootCause instanceof InterruptedIOException
+      || rootCause instanceof InterruptedException
+      || rootCause instanceof CancellationException
+      || analysisCancelled()) {
+      throw e;
+    }
 
-      String message = String.format(
-        "Unable to run check %s - %s on file '%s', To help improve the SonarSource Java Analyzer, please report this problem to SonarSource: see https://community.sonarsource.com/",
-        scanner.getClass(), ruleKey(scanner), currentFile);
+    String message = String.format(
+      "Unable to run check %s - %s on file '%s', To help improve the SonarSource Java Analyzer, please report this problem to SonarSource: see https://community.sonarsource.com/",
+      scanner.getClass(), ruleKey(scanner), currentFile);
 
-      LOG.error(message, e);
+    LOG.error(message, e);
 
-      throw new CheckFailureException(message, e);
-    }
+    throw new CheckFailureException(message, e);
   }
 
   private boolean analysisCancelled() {
@@ -338,6 +420,12 @@ public class VisitorsBridge {
     }
   }
 
+  private void recordDependencies(JavaTree.CompilationUnitTreeImpl tree) {
+    if (sonarComponents != null && !(currentFile instanceof GeneratedFile)) {
+      sonarComponents.recordDependencies(currentFile, tree);
+    }
+  }
+
   private List<JavaFileScanner> getScanners(boolean supportedScannersCanBeSkippedForThisFile) {
     return supportedScannersCanBeSkippedForThisFile ? scannersThatCannotBeSkipped : allScanners;
   }
@@ -361,6 +449,14 @@ public class VisitorsBridge {
     } else if (fullyScannedFileCount > 0) {
       LOG.info("Did not optimize analysis for any files, performed a full analysis for all {} files.", fullyScannedFileCount);
     }
+    if (!parsingRequiredByScanner.isEmpty() && LOG.isInfoEnabled()) {
+      String scanners = parsingRequiredByScanner.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+        .limit(MAX_REPORTED_SCANNERS_REQUIRING_PARSING)
+        .map(entry -> entry.getKey() + " (" + entry.getValue() + ")")
+        .collect(Collectors.joining(", "));
+      LOG.info("Unchanged files could not be analyzed without parsing because of: {}", scanners);
+    }
 
     var moduleContext = createScannerContext(sonarComponents, javaVersion, inAndroidContext, cacheContext);
 
@@ -368,21 +464,43 @@ public class VisitorsBridge {
       .filter(EndOfAnalysis.class::isInstance)
       .map(EndOfAnalysis.class::cast)
       .forEach(check -> check.endOfAnalysis(moduleContext));
+    // the analysis of the visitors run by worker bridges also ends here, their worker instances share their state
+    StreamSupport.stream(visitors.spliterator(), false)
+      .filter(visitor -> visitorsRunByWorkers.contains(visitor) && isVisitorJavaVersionCompatible(visitor))
+      .filter(EndOfAnalysis.class::isInstance)
+      .map(EndOfAnalysis.class::cast)
+      .forEach(check -> check.endOfAnalysis(moduleContext));
   }
 
   private class IssuableSubscriptionVisitorsRunner implements JavaFileScanner, EndOfAnalysis {
-    private EnumMap<Tree.Kind, List<SubscriptionVisitor>> checks;
-    private List<SubscriptionVisitor> subscriptionVisitors;
+    private static final SubscriptionVisitor[] NO_VISITORS = new SubscriptionVisitor[0];
+
+    /**
+     * Visitors subscribed to each kind of tree, indexed by {@link Tree.Kind#ordinal()}.
+     */
+    private final SubscriptionVisitor[][] visitorsByKind;
+    private final Set<Tree.Kind> subscribedKinds = EnumSet.noneOf(Tree.Kind.class);
+    private final List<SubscriptionVisitor> subscriptionVisitors;
+    private final boolean measureVisitorDurations;
+    private boolean visitTokens = false;
 
     IssuableSubscriptionVisitorsRunner() {
-      checks = new EnumMap<>(Tree.Kind.class);
+      visitorsByKind = new SubscriptionVisitor[Tree.Kind.values().length][];
+      Arrays.fill(visitorsByKind, NO_VISITORS);
       this.subscriptionVisitors = new ArrayList<>();
+      this.measureVisitorDurations = sonarComponents != null && sonarComponents.isPerformanceMeasureActive();
     }
 
     private void add(SubscriptionVisitor subscriptionVisitor) {
       this.subscriptionVisitors.add(subscriptionVisitor);
-      subscriptionVisitor.nodesToVisit()
-        .forEach(k -> checks.computeIfAbsent(k, key -> new ArrayList<>()).add(subscriptionVisitor));
+      for (Tree.Kind kind : subscriptionVisitor.nodesToVisit()) {
+        SubscriptionVisitor[] visitors = visitorsByKind[kind.ordinal()];
+        SubscriptionVisitor[] extended = Arrays.copyOf(visitors, visitors.length + 1);
+        extended[visitors.length] = subscriptionVisitor;
+        visitorsByKind[kind.ordinal()] = extended;
+        subscribedKinds.add(kind);
+      }
+      visitTokens = subscribedKinds.contains(Tree.Kind.TOKEN) || subscribedKinds.contains(Tree.Kind.TRIVIA);
     }
 
     @Override
@@ -391,9 +509,14 @@ public class VisitorsBridge {
       for (SubscriptionVisitor visitor : subscriptionVisitors) {
         PerformanceMeasure.Duration duration = PerformanceMeasure.start(visitor);
         try {
-          allScansSucceeded &= visitor.scanWithoutParsing(fileScannerContext);
+          boolean scanSucceeded = visitor.scanWithoutParsing(fileScannerContext);
+          if (!scanSucceeded) {
+            recordParsingRequiredBy(visitor);
+          }
+          allScansSucceeded &= scanSucceeded;
         } catch (Exception e) {
           allScansSucceeded = false;
+          recordParsingRequiredBy(visitor);
           String failureMessage = String.format(
             "Scan without parsing of file %s failed for scanner %s.",
             fileScannerContext.getInputFile(),
@@ -434,7 +557,8 @@ public class VisitorsBridge {
       JavaTree javaTree = (JavaTree) tree;
       if (!javaTree.isLeaf()) {
         for (Tree next : javaTree.getChildren()) {
-          if (next != null) {
+          // tokens are leaves, only visited for the visitors subscribed to tokens or trivia
+          if (next != null && (visitTokens || next.kind() != Tree.Kind.TOKEN)) {
             visit(next);
           }
         }
@@ -443,26 +567,80 @@ public class VisitorsBridge {
 
     private void visit(Tree tree) throws CheckFailureException {
       Kind kind = tree.kind();
-      List<SubscriptionVisitor> subscribed = checks.getOrDefault(kind, Collections.emptyList());
-      Consumer<SubscriptionVisitor> callback;
-      boolean isToken = (kind == Tree.Kind.TOKEN);
-      if (isToken) {
-        callback = s -> s.visitToken((SyntaxToken) tree);
-      } else {
-        callback = s -> s.visitNode(tree);
-      }
-      forEach(subscribed, callback);
-      if (isToken) {
-        forEach(checks.getOrDefault(Tree.Kind.TRIVIA, Collections.emptyList()), s -> ((SyntaxToken) tree).trivias().forEach(s::visitTrivia));
+      SubscriptionVisitor[] subscribed = visitorsByKind[kind.ordinal()];
+      if (kind == Tree.Kind.TOKEN) {
+        visitToken(subscribed, (SyntaxToken) tree);
+        SubscriptionVisitor[] triviaVisitors = visitorsByKind[Tree.Kind.TRIVIA.ordinal()];
+        if (triviaVisitors.length > 0) {
+          visitTrivias(triviaVisitors, (SyntaxToken) tree);
+        }
       } else {
+        visitNode(subscribed, tree);
         visitChildren(tree);
+        leaveNode(subscribed, tree);
+      }
+    }
+
+    private void visitNode(SubscriptionVisitor[] visitors, Tree tree) throws CheckFailureException {
+      for (SubscriptionVisitor visitor : visitors) {
+        PerformanceMeasure.Duration visitorDuration = measureVisitorDurations ? PerformanceMeasure.start(visitor) : null;
+        try {
+          visitor.visitNode(tree);
+        } catch (RuntimeException e) {
+          handleScannerException(e, visitor);
+        }
+        if (visitorDuration != null) {
+          visitorDuration.stop();
+        }
       }
-      if (!isToken) {
-        forEach(subscribed, s -> s.leaveNode(tree));
+    }
+
+    private void leaveNode(SubscriptionVisitor[] visitors, Tree tree) throws CheckFailureException {
+      for (SubscriptionVisitor visitor : visitors) {
+        PerformanceMeasure.Duration visitorDuration = measureVisitorDurations ? PerformanceMeasure.start(visitor) : null;
+        try {
+          visitor.leaveNode(tree);
+        } catch (RuntimeException e) {
+          handleScannerException(e, visitor);
+        }
+        if (visitorDuration != null) {
+          visitorDuration.stop();
+        }
+      }
+    }
+
+    private void visitToken(SubscriptionVisitor[] visitors, SyntaxToken token) throws CheckFailureException {
+      for (SubscriptionVisitor visitor : visitors) {
+        PerformanceMeasure.Duration visitorDuration = measureVisitorDurations ? PerformanceMeasure.start(visitor) : null;
+        try {
+          visitor.visitToken(token);
+        } catch (RuntimeException e) {
+          handleScannerException(e, visitor);
+        }
+        if (visitorDuration != null) {
+          visitorDuration.stop();
+        }
+      }
+    }
+
+    private void visitTrivias(SubscriptionVisitor[] visitors, SyntaxToken token) throws CheckFailureException {
+      List<SyntaxTrivia> trivias = token.trivias();
+      for (SubscriptionVisitor visitor : visitors) {
+        PerformanceMeasure.Duration visitorDuration = measureVisitorDurations ? PerformanceMeasure.start(visitor) : null;
+        try {
+          for (int i = 0; i < trivias.size(); i++) {
+            visitor.visitTrivia(trivias.get(i));
+          }
+        } catch (RuntimeException e) {
+          handleScannerException(e, visitor);
+        }
+        if (visitorDuration != null) {
+          visitorDuration.stop();
+        }
       }
     }
 
-    private final void forEach(Collection<SubscriptionVisitor> visitors, Consumer<SubscriptionVisitor> callback) throws CheckFailureException {
+    private void forEach(Collection<SubscriptionVisitor> visitors, Consumer<SubscriptionVisitor> callback) throws CheckFailureException {
       for (SubscriptionVisitor visitor : visitors) {
         PerformanceMeasure.Duration visitorDuration = PerformanceMeasure.start(visitor);
         runScanner(() -> callback.accept(visitor), visitor);
@@ -0,0 +1,45 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.java.api.internal;
+
+import java.util.List;
+import org.sonar.java.annotations.Beta;
+import org.sonar.plugins.java.api.JavaCheck;
+
+/**
+ * Implemented by a visitor which is not registered by class, but built on top of other checks. When all these checks are
+ * {@link Stateless}, the analyzer can create one instance of the visitor per analysis thread, on top of the per-thread instances
+ * of the checks.
+ */
+@Beta
+public interface DelegatingVisitor {
+
+  /**
+   * @return the checks this visitor is built on
+   */
+  List<? extends JavaCheck> delegates();
+
+  /**
+   * @param delegates instances of the checks returned by {@link #delegates()}, in the same order
+   * @return a new instance of this visitor, built on top of the given checks
+   */
+  JavaCheck createInstance(List<JavaCheck> delegates);
+
+}
@@ -0,0 +1,48 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.java.api.internal;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.sonar.java.annotations.Beta;
+
+/**
+ * Marks a check which does not keep any state from one file to another: its fields are only used while scanning a single file.
+ * When files are analyzed by several threads, the analyzer can then create one instance of the check per thread, each instance
+ * being used by a single thread at a time.
+ * <p>
+ * The marker is only taken into account for checks registered by class, and which do not implement {@link EndOfAnalysis}.
+ * Other checks keep a single instance, which is never called concurrently.
+ * <p>
+ * The side effects of a check having one instance per thread are limited to reporting issues and accessing the cache of the
+ * {@link org.sonar.plugins.java.api.JavaFileScannerContext}, which are both serialized by the analyzer.
+ * <p>
+ * Only the symbolic execution checks are marked for now. The rules of java-checks are not, so they keep running on their
+ * single shared instance.
+ */
+@Beta
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Stateless {
+}
@@ -0,0 +1,128 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class BatchFileGroupingTest {
+
+  @Test
+  void header_contains_package_and_imported_packages() {
+    BatchFileGrouping.Header header = BatchFileGrouping.readHeader(inputFile("A.java", """
+      /*
+       * License header
+       */
+      package org.foo.bar;
+
+      // comment
+      import java.util.List;
+      import java.util.Map.Entry;
+      import static org.junit.Assert.assertTrue;
+      import org.baz.*;
+      import static org.qix.Utils.*;
+
+      @Deprecated
+      public class A {
+        import x.y.Z;
+      }
+      """));
+    assertThat(header.packageName).isEqualTo("org.foo.bar");
+    assertThat(header.importedPackages).containsExactly("java.util", "java.util", "org.junit", "org.baz", "org.qix");
+  }
+
+  @Test
+  void header_skips_lines_of_block_comments() {
+    BatchFileGrouping.Header header = BatchFileGrouping.readHeader(inputFile("A.java", """
+      /*
+        License header without leading stars
+        package not.a.declaration;
+      */
+      /* single line comment */
+      package org.foo;
+      import java.util.List;
+      import java.io.File;
+      class A {}
+      """));
+    assertThat(header.packageName).isEqualTo("org.foo");
+    assertThat(header.importedPackages).containsExactly("java.util", "java.io");
+  }
+
+  @Test
+  void header_of_unreadable_file_is_default_package() throws IOException {
+    InputFile inputFile = mock(InputFile.class);
+    when(inputFile.inputStream()).thenThrow(new IOException("Boom!"));
+    BatchFileGrouping.Header header = BatchFileGrouping.readHeader(inputFile);
+    assertThat(header.packageName).isEmpty();
+    assertThat(header.importedPackages).isEmpty();
+  }
+
+  @Test
+  void files_are_grouped_by_package_and_import_affinity() {
+    InputFile a1 = inputFile("a/A1.java", "package a;\nclass A1 {}");
+    InputFile z1 = inputFile("z/Z1.java", "package z;\nimport a.A1;\nclass Z1 {}");
+    InputFile b1 = inputFile("b/B1.java", "package b;\nclass B1 {}");
+    InputFile a2 = inputFile("a/A2.java", "package a;\nclass A2 {}");
+    InputFile c1 = inputFile("c/C1.java", "package c;\nimport z.Z1;\nimport z.Z2;\nclass C1 {}");
+    InputFile z2 = inputFile("z/Z2.java", "package z;\nimport b.B1;\nclass Z2 {}");
+    InputFile d1 = inputFile("D1.java", "class D1 {}");
+
+    List<InputFile> grouped = BatchFileGrouping.group(List.of(a1, z1, b1, a2, c1, z2, d1));
+
+    // default package first, then "a" which has no import, "z" importing "a", then "c" importing twice "z"
+    assertThat(grouped).containsExactly(d1, a1, a2, z1, z2, c1, b1);
+  }
+
+  @Test
+  void files_are_not_grouped_when_they_fit_in_a_single_batch() {
+    InputFile z1 = inputFile("z/Z1.java", "package z;\nclass Z1 {}", 100L);
+    InputFile a1 = inputFile("a/A1.java", "package a;\nclass A1 {}", 100L);
+
+    assertThat(BatchFileGrouping.groupIfSeveralBatches(List.of(z1, a1), 200L)).containsExactly(z1, a1);
+    assertThat(BatchFileGrouping.groupIfSeveralBatches(List.of(z1, a1), 199L)).containsExactly(a1, z1);
+  }
+
+  private static InputFile inputFile(String relativePath, String code, long length) {
+    InputFile inputFile = spy(inputFile(relativePath, code));
+    File file = mock(File.class);
+    when(file.length()).thenReturn(length);
+    when(inputFile.file()).thenReturn(file);
+    return inputFile;
+  }
+
+  private static InputFile inputFile(String relativePath, String code) {
+    return new TestInputFileBuilder("", relativePath)
+      .setCharset(UTF_8)
+      .setLanguage("java")
+      .setContents(code)
+      .build();
+  }
+
+}
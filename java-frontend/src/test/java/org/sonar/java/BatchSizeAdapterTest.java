@@ -0,0 +1,149 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import java.io.File;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.event.Level;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.testfixtures.log.LogTesterJUnit5;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchSizeAdapterTest {
+
+  private static final long MAX_HEAP = 1_000_000_000L;
+
+  @RegisterExtension
+  public LogTesterJUnit5 logTester = new LogTesterJUnit5().setLevel(Level.DEBUG);
+
+  private final FakeHeapMonitor heapMonitor = new FakeHeapMonitor();
+
+  @Test
+  void batch_size_is_halved_when_heap_usage_is_high() {
+    BatchSizeAdapter adapter = new BatchSizeAdapter(100L, true, heapMonitor);
+    runBatch(adapter, 800_000_000L);
+    assertThat(adapter.batchSizeInKB()).isEqualTo(50L);
+    for (int i = 0; i < 5; i++) {
+      runBatch(adapter, 800_000_000L);
+    }
+    assertThat(adapter.batchSizeInKB()).isEqualTo(BatchSizeAdapter.MIN_BATCH_SIZE_IN_KB);
+    assertThat(logTester.logs(Level.DEBUG))
+      .anyMatch(log -> log.matches("Batch of 2 files \\(3 KB\\) analyzed in \\d+ ms, peak heap usage: 800 MB / 1000 MB\\."))
+      .contains("Batch size changed from 100 KB to 50 KB.");
+  }
+
+  @Test
+  void batch_size_grows_when_heap_usage_is_low() {
+    BatchSizeAdapter adapter = new BatchSizeAdapter(100L, true, heapMonitor);
+    runBatch(adapter, 500_000_000L);
+    assertThat(adapter.batchSizeInKB()).isEqualTo(100L);
+    runBatch(adapter, 100_000_000L);
+    assertThat(adapter.batchSizeInKB()).isEqualTo(150L);
+    for (int i = 0; i < 10; i++) {
+      runBatch(adapter, 100_000_000L);
+    }
+    assertThat(adapter.batchSizeInKB()).isEqualTo(BatchSizeAdapter.MAX_BATCH_SIZE_IN_KB);
+  }
+
+  @Test
+  void batch_size_is_not_adapted_when_configured() {
+    BatchSizeAdapter adapter = new BatchSizeAdapter(100L, false, heapMonitor);
+    runBatch(adapter, 900_000_000L);
+    runBatch(adapter, 10_000_000L);
+    assertThat(adapter.batchSizeInKB()).isEqualTo(100L);
+    assertThat(logTester.logs(Level.DEBUG))
+      .hasSize(2)
+      .allMatch(log -> log.startsWith("Batch of 2 files (3 KB) analyzed in "));
+    adapter.close();
+    assertThat(heapMonitor.closed).isTrue();
+  }
+
+  @Test
+  void gc_heap_monitor_measures_the_heap() {
+    BatchSizeAdapter.GcHeapMonitor monitor = new BatchSizeAdapter.GcHeapMonitor(true);
+    try {
+      assertThat(monitor.isListening()).isTrue();
+      monitor.reset();
+      assertThat(monitor.peakUsedBytes()).isPositive();
+      assertThat(monitor.maxBytes()).isGreaterThanOrEqualTo(monitor.peakUsedBytes());
+      System.gc();
+      assertThat(monitor.peakUsedBytes()).isPositive();
+    } finally {
+      monitor.close();
+      monitor.close();
+    }
+    assertThat(monitor.isListening()).isFalse();
+  }
+
+  @Test
+  void gc_heap_monitor_does_not_listen_to_garbage_collections_unless_adaptive() {
+    BatchSizeAdapter.GcHeapMonitor monitor = new BatchSizeAdapter.GcHeapMonitor(false);
+    assertThat(monitor.isListening()).isFalse();
+    monitor.reset();
+    assertThat(monitor.peakUsedBytes()).isPositive();
+    monitor.close();
+  }
+
+  private void runBatch(BatchSizeAdapter adapter, long peakHeapUsage) {
+    List<InputFile> batch = List.of(inputFile(1_000L), inputFile(2_000L));
+    adapter.startBatch();
+    heapMonitor.peak = peakHeapUsage;
+    adapter.endBatch(batch);
+  }
+
+  private static InputFile inputFile(long length) {
+    File file = mock(File.class);
+    when(file.length()).thenReturn(length);
+    InputFile inputFile = mock(InputFile.class);
+    when(inputFile.file()).thenReturn(file);
+    return inputFile;
+  }
+
+  private static class FakeHeapMonitor implements BatchSizeAdapter.HeapMonitor {
+    private long peak = 0L;
+    private boolean closed = false;
+
+    @Override
+    public void reset() {
+      peak = 0L;
+    }
+
+    @Override
+    public long peakUsedBytes() {
+      return peak;
+    }
+
+    @Override
+    public long maxBytes() {
+      return MAX_HEAP;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+}
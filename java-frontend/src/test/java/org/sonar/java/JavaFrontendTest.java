@@ -45,6 +45,8 @@ import org.sonar.api.SonarRuntime;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.rule.ActiveRules;
 import org.sonar.api.batch.rule.CheckFactory;
+import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
+import org.sonar.api.batch.rule.internal.NewActiveRule;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.cache.ReadCache;
 import org.sonar.api.batch.sensor.cache.WriteCache;
@@ -54,6 +56,7 @@ import org.sonar.api.internal.SonarRuntimeImpl;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.api.measures.FileLinesContextFactory;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
 import org.sonar.api.testfixtures.log.LogAndArguments;
@@ -64,12 +67,15 @@ import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.exceptions.ApiMismatchException;
 import org.sonar.java.filters.SonarJavaIssueFilter;
 import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.plugins.java.api.CheckRegistrar;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaResourceLocator;
 import org.sonar.plugins.java.api.JavaVersion;
 import org.sonar.plugins.java.api.ModuleScannerContext;
 import org.sonar.plugins.java.api.internal.EndOfAnalysis;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -420,6 +426,8 @@ class JavaFrontendTest {
     assertThat(frontend.isFileByFileEnabled()).isFalse();
     assertThat(frontend.analysisCancelled()).isFalse();
     assertThat(frontend.getBatchModeSizeInKB()).isEqualTo(-1L);
+    assertThat(frontend.getBatchModeParallelism()).isEqualTo(1);
+    assertThat(frontend.isBatchModeSizeAdaptive()).isFalse();
   }
 
   @Test
@@ -697,6 +705,81 @@ class JavaFrontendTest {
       .contains("Using ECJ batch to parse 2 Main java source files with batch size 0 KB.");
   }
 
+  @Test
+  void test_scan_as_batch_processes_batches_in_parallel() throws IOException {
+    MapSettings settings = new MapSettings()
+      .setProperty(SonarComponents.SONAR_BATCH_SIZE_KEY, 0)
+      .setProperty(SonarComponents.SONAR_BATCH_PARALLELISM_KEY, 2);
+    logTester.setLevel(Level.DEBUG);
+    scan(settings, SONARQUBE_RUNTIME, "class A {}", "class B {}", "class C {}", "class D {}");
+    String allLogs = String.join("\n", logTester.logs());
+    assertThat(allLogs)
+      .contains("Using ECJ batch to parse 4 Main java source files with batch size 0 KB and 2 parallel batches.")
+      .containsOnlyOnce("100% analyzed");
+    assertThat(mainCodeIssueScannerAndFilter.scanFileInvocationCount).isEqualTo(4);
+    assertThat(mainCodeIssueScannerAndFilter.endOfAnalysisInvocationCount).isEqualTo(1);
+  }
+
+  @Test
+  void test_scan_as_batch_logs_batch_statistics() throws IOException {
+    logTester.setLevel(Level.DEBUG);
+    scan(new MapSettings(), SONARQUBE_RUNTIME, "class A {}", "class B {}");
+    assertThat(logTester.logs(Level.DEBUG))
+      .anyMatch(log -> log.matches("Batch of \\d+ files \\(\\d+ KB\\) analyzed in \\d+ ms, peak heap usage: \\d+ MB / \\d+ MB\\."));
+  }
+
+  @Test
+  void exceptions_in_parallel_batches_should_be_logged() throws IOException {
+    MapSettings settings = new MapSettings()
+      .setProperty(SonarComponents.SONAR_BATCH_SIZE_KEY, 0)
+      .setProperty(SonarComponents.SONAR_BATCH_PARALLELISM_KEY, 2);
+    InputFile brokenFile = mock(InputFile.class);
+    when(brokenFile.file()).thenReturn(new File("Broken.java"));
+    when(brokenFile.charset()).thenThrow(new NullPointerException());
+    scan(settings, SONARQUBE_RUNTIME, Collections.singletonList(brokenFile));
+    assertThat(logTester.logs(Level.ERROR)).
+      containsExactly("Batch Mode failed, analysis of Java Files stopped.");
+    assertThat(mainCodeIssueScannerAndFilter.endOfAnalysisInvocationCount).isEqualTo(1);
+  }
+
+  @Test
+  void test_stateless_checks_have_one_instance_per_analysis_thread() throws IOException {
+    MapSettings settings = new MapSettings()
+      .setProperty(SonarComponents.SONAR_BATCH_SIZE_KEY, 0)
+      .setProperty(SonarComponents.SONAR_BATCH_PARALLELISM_KEY, 2);
+    ActiveRules activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "StatelessIssueCheck")).build())
+      .build();
+    sensorContext = SensorContextTester.create(temp.getRoot().getAbsoluteFile());
+    sensorContext.setSettings(settings);
+    sensorContext.setRuntime(SONARQUBE_RUNTIME);
+    sensorContext.setActiveRules(activeRules);
+    List<InputFile> inputFiles = new ArrayList<>();
+    for (String code : List.of("class A {}", "class B {}", "class C {}", "class D {}")) {
+      inputFiles.add(addFile(code, sensorContext));
+    }
+
+    FileLinesContextFactory fileLinesContextFactory = mock(FileLinesContextFactory.class);
+    when(fileLinesContextFactory.createFor(any(InputFile.class))).thenReturn(mock(FileLinesContext.class));
+    sonarComponents = new SonarComponents(fileLinesContextFactory, sensorContext.fileSystem(), mock(ClasspathForMain.class),
+      mock(ClasspathForTest.class), new CheckFactory(activeRules), activeRules, new CheckRegistrar[] {
+        ctx -> ctx.registerMainChecks("java", List.of(StatelessIssueCheck.class))
+      });
+    sonarComponents.setSensorContext(sensorContext);
+    List<JavaCheck> mainChecks = sonarComponents.mainChecks();
+
+    JavaFrontend frontend = new JavaFrontend(new JavaVersionImpl(), sonarComponents, null, mock(JavaResourceLocator.class), null,
+      mainChecks.toArray(new JavaCheck[0]));
+    frontend.scan(inputFiles, Collections.emptyList(), Collections.emptyList());
+
+    assertThat(logTester.logs()).contains("1 checks can be instantiated once per analysis thread.");
+    // files are only scanned by the instances created for the analysis threads
+    assertThat(((StatelessIssueCheck) mainChecks.get(0)).scannedFileCount).isZero();
+    assertThat(sensorContext.allIssues())
+      .hasSize(4)
+      .allMatch(issue -> issue.ruleKey().equals(RuleKey.of("java", "StatelessIssueCheck")));
+  }
+
   @Test
   void batch_generator_returns_an_empty_list_when_no_input_files() throws IOException {
     List<InputFile> emptyList = Collections.emptyList();
@@ -878,6 +961,18 @@ class JavaFrontendTest {
     return defaultFile;
   }
 
+  @Stateless
+  @org.sonar.check.Rule(key = "StatelessIssueCheck")
+  public static class StatelessIssueCheck implements JavaFileScanner {
+    int scannedFileCount = 0;
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      scannedFileCount++;
+      context.addIssueOnFile(this, "Issue reported by a worker instance");
+    }
+  }
+
   private class TestIssueFilter implements JavaFileScanner, SonarJavaIssueFilter, EndOfAnalysis {
     CompilationUnitTree lastScannedTree = null;
     int scanFileInvocationCount = 0;
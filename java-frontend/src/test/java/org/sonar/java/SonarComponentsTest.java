@@ -20,6 +20,7 @@
 package org.sonar.java;
 
 import com.sonar.sslr.api.RecognitionException;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -61,6 +62,8 @@ import org.sonar.api.batch.rule.Checks;
 import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
 import org.sonar.api.batch.rule.internal.NewActiveRule;
 import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.cache.ReadCache;
+import org.sonar.api.batch.sensor.cache.WriteCache;
 import org.sonar.api.batch.sensor.highlighting.NewHighlighting;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.batch.sensor.issue.Issue;
@@ -75,6 +78,8 @@ import org.sonar.api.testfixtures.log.LogAndArguments;
 import org.sonar.api.testfixtures.log.LogTesterJUnit5;
 import org.sonar.api.utils.Version;
 import org.sonar.check.Rule;
+import org.sonar.check.RuleProperty;
+import org.sonar.java.caching.FileHashingUtils;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.exceptions.ApiMismatchException;
@@ -85,6 +90,10 @@ import org.sonar.java.reporting.AnalyzerMessage;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JspCodeVisitor;
+import org.sonar.plugins.java.api.ModuleScannerContext;
+import org.sonar.plugins.java.api.internal.DelegatingVisitor;
+import org.sonar.plugins.java.api.internal.EndOfAnalysis;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonarsource.sonarlint.core.plugin.commons.sonarapi.SonarLintRuntimeImpl;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -408,6 +417,118 @@ class SonarComponentsTest {
       .containsExactly("RuleB");
   }
 
+  @Test
+  void create_worker_instances_of_stateless_checks() {
+    ActiveRules activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "stateless")).setParam("threshold", "42").build())
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "stateful")).build())
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "statelessEndOfAnalysis")).build())
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "statelessInstance")).build())
+      .build();
+    CheckFactory checkFactory = new CheckFactory(activeRules);
+    SensorContextTester context = SensorContextTester.create(new File(".")).setActiveRules(activeRules);
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, null, null,
+      null, checkFactory, activeRules, new CheckRegistrar[] {
+        ctx -> ctx.registerMainChecks("java", List.of(
+          StatelessCheck.class,
+          StatefulCheck.class,
+          StatelessEndOfAnalysisCheck.class,
+          new StatelessInstanceCheck()))
+      });
+    sonarComponents.setSensorContext(context);
+
+    List<JavaCheck> workerChecks = sonarComponents.mainChecks().stream()
+      .filter(sonarComponents::canCreateWorkerInstance)
+      .toList();
+    assertThat(workerChecks)
+      .extracting(c -> c.getClass().getSimpleName())
+      .containsExactly("StatelessCheck");
+
+    List<JavaCheck> workerInstances = sonarComponents.createWorkerInstances(workerChecks);
+    assertThat(workerInstances).hasSize(1);
+    StatelessCheck workerInstance = (StatelessCheck) workerInstances.get(0);
+    assertThat(workerInstance).isNotSameAs(workerChecks.get(0));
+    assertThat(workerInstance.threshold).isEqualTo(42);
+    assertThat(sonarComponents.getRuleKey(workerInstance)).contains(RuleKey.of("java", "stateless"));
+  }
+
+  @Test
+  void create_worker_instances_of_delegating_visitors() {
+    ActiveRules activeRules = new ActiveRulesBuilder()
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "stateless")).build())
+      .addRule(new NewActiveRule.Builder().setRuleKey(RuleKey.of("java", "stateful")).build())
+      .build();
+    CheckFactory checkFactory = new CheckFactory(activeRules);
+    SensorContextTester context = SensorContextTester.create(new File(".")).setActiveRules(activeRules);
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, null, null,
+      null, checkFactory, activeRules, new CheckRegistrar[] {
+        ctx -> ctx.registerMainChecks("java", List.of(StatelessCheck.class, StatefulCheck.class))
+      });
+    sonarComponents.setSensorContext(context);
+    JavaCheck statelessCheck = sonarComponents.mainChecks().get(0);
+    JavaCheck statefulCheck = sonarComponents.mainChecks().get(1);
+
+    assertThat(sonarComponents.canCreateWorkerInstance(new TestDelegatingVisitor(List.of(statelessCheck)))).isTrue();
+    assertThat(sonarComponents.canCreateWorkerInstance(new TestDelegatingVisitor(List.of(statelessCheck, statefulCheck)))).isFalse();
+    assertThat(sonarComponents.canCreateWorkerInstance(new TestDelegatingVisitor(List.of()))).isFalse();
+
+    TestDelegatingVisitor visitor = new TestDelegatingVisitor(List.of(statelessCheck));
+    List<JavaCheck> workerInstances = sonarComponents.createWorkerInstances(List.of(visitor, statelessCheck));
+    assertThat(workerInstances).hasSize(2);
+    TestDelegatingVisitor workerVisitor = (TestDelegatingVisitor) workerInstances.get(0);
+    assertThat(workerVisitor).isNotSameAs(visitor);
+    assertThat(workerInstances.get(1)).isNotSameAs(statelessCheck);
+    assertThat(workerVisitor.delegates()).containsExactly(workerInstances.get(1));
+
+    List<JavaCheck> visitorWithoutDelegates = List.of(visitor);
+    assertThatThrownBy(() -> sonarComponents.createWorkerInstances(visitorWithoutDelegates))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("No instance created for check " + StatelessCheck.class.getName());
+  }
+
+  private static class TestDelegatingVisitor implements JavaCheck, DelegatingVisitor {
+    private final List<JavaCheck> delegates;
+
+    TestDelegatingVisitor(List<JavaCheck> delegates) {
+      this.delegates = delegates;
+    }
+
+    @Override
+    public List<JavaCheck> delegates() {
+      return delegates;
+    }
+
+    @Override
+    public JavaCheck createInstance(List<JavaCheck> delegates) {
+      return new TestDelegatingVisitor(delegates);
+    }
+  }
+
+  @Stateless
+  @Rule(key = "stateless")
+  public static class StatelessCheck implements JavaCheck {
+    @RuleProperty(key = "threshold")
+    public int threshold = 0;
+  }
+
+  @Rule(key = "stateful")
+  public static class StatefulCheck implements JavaCheck {
+  }
+
+  @Stateless
+  @Rule(key = "statelessEndOfAnalysis")
+  public static class StatelessEndOfAnalysisCheck implements JavaCheck, EndOfAnalysis {
+    @Override
+    public void endOfAnalysis(ModuleScannerContext context) {
+      // do nothing
+    }
+  }
+
+  @Stateless
+  @Rule(key = "statelessInstance")
+  public static class StatelessInstanceCheck implements JavaCheck {
+  }
+
   @Test
   void auto_scan_compatible_rules() {
     ActiveRules activeRules = activeRules();
@@ -676,6 +797,26 @@ class SonarComponentsTest {
     assertThat(sonarComponents.isAutoScanCheckFiltering()).isTrue();
   }
 
+  @Test
+  void performance_measure_activation() {
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    assertThat(sonarComponents.isPerformanceMeasureActive()).isFalse();
+
+    MapSettings settings = new MapSettings();
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+    assertThat(sonarComponents.isPerformanceMeasureActive()).isFalse();
+
+    settings.setProperty("sonar.java.performance.measure", "true");
+    assertThat(sonarComponents.isPerformanceMeasureActive()).isTrue();
+
+    settings.setProperty("sonar.java.experimental.batchModeParallelism", "2");
+    assertThat(sonarComponents.isPerformanceMeasureActive()).isFalse();
+
+    // autoscan never runs batches in parallel
+    settings.setProperty("sonar.internal.analysis.autoscan", "true");
+    assertThat(sonarComponents.isPerformanceMeasureActive()).isTrue();
+  }
+
   @Test
   void batch_getters() {
     MapSettings settings = new MapSettings();
@@ -711,6 +852,85 @@ class SonarComponentsTest {
     assertThat(sonarComponents.getBatchModeSizeInKB()).isEqualTo(-1L);
   }
 
+  @Test
+  void batch_parallelism_getter() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+
+    // default value
+    assertThat(sonarComponents.getBatchModeParallelism()).isEqualTo(1);
+
+    settings.setProperty("sonar.java.experimental.batchModeParallelism", "4");
+    assertThat(sonarComponents.getBatchModeParallelism()).isEqualTo(4);
+
+    // invalid values fall back to serial analysis
+    settings.setProperty("sonar.java.experimental.batchModeParallelism", "-2");
+    assertThat(sonarComponents.getBatchModeParallelism()).isEqualTo(1);
+
+    // autoscan analyzes all the files in a single batch
+    settings.setProperty("sonar.java.experimental.batchModeParallelism", "4");
+    settings.setProperty("sonar.internal.analysis.autoscan", "true");
+    assertThat(sonarComponents.getBatchModeParallelism()).isEqualTo(1);
+  }
+
+  @Test
+  void batch_size_is_adaptive_unless_configured() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+    assertThat(sonarComponents.isBatchModeSizeAdaptive()).isTrue();
+
+    settings.setProperty("sonar.java.experimental.batchModeSizeInKB", "100");
+    assertThat(sonarComponents.isBatchModeSizeAdaptive()).isFalse();
+
+    settings.removeProperty("sonar.java.experimental.batchModeSizeInKB");
+    settings.setProperty("sonar.internal.analysis.autoscan", "true");
+    assertThat(sonarComponents.isBatchModeSizeAdaptive()).isFalse();
+  }
+
+  @Test
+  void symbolic_execution_budget_getters() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+
+    // not limited by default
+    assertThat(sonarComponents.getSymbolicExecutionMethodTimeBudget()).isZero();
+    assertThat(sonarComponents.getSymbolicExecutionFileTimeBudget()).isZero();
+    assertThat(sonarComponents.getSymbolicExecutionMethodAllocationBudget()).isZero();
+    assertThat(sonarComponents.getSymbolicExecutionMethodFlowSteps()).isZero();
+
+    settings.setProperty("sonar.java.experimental.symbolicExecutionMethodBudgetInMs", "500");
+    settings.setProperty("sonar.java.experimental.symbolicExecutionFileBudgetInMs", "5000");
+    settings.setProperty("sonar.java.experimental.symbolicExecutionMethodBudgetInKB", "65536");
+    settings.setProperty("sonar.java.experimental.symbolicExecutionMethodFlowSteps", "100000");
+    assertThat(sonarComponents.getSymbolicExecutionMethodTimeBudget()).isEqualTo(500L);
+    assertThat(sonarComponents.getSymbolicExecutionFileTimeBudget()).isEqualTo(5000L);
+    assertThat(sonarComponents.getSymbolicExecutionMethodAllocationBudget()).isEqualTo(65536L);
+    assertThat(sonarComponents.getSymbolicExecutionMethodFlowSteps()).isEqualTo(100_000);
+
+    settings.setProperty("sonar.java.experimental.symbolicExecutionMethodBudgetInMs", "-1");
+    assertThat(sonarComponents.getSymbolicExecutionMethodTimeBudget()).isZero();
+    settings.setProperty("sonar.java.experimental.symbolicExecutionMethodFlowSteps", "-1");
+    assertThat(sonarComponents.getSymbolicExecutionMethodFlowSteps()).isZero();
+  }
+
+  @Test
+  void symbolic_execution_exploration_strategy_getter() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+
+    assertThat(sonarComponents.getSymbolicExecutionExplorationStrategy()).isEmpty();
+
+    settings.setProperty("sonar.java.experimental.symbolicExecutionExplorationStrategy", " ");
+    assertThat(sonarComponents.getSymbolicExecutionExplorationStrategy()).isEmpty();
+
+    settings.setProperty("sonar.java.experimental.symbolicExecutionExplorationStrategy", " REVERSE_POSTORDER ");
+    assertThat(sonarComponents.getSymbolicExecutionExplorationStrategy()).contains("REVERSE_POSTORDER");
+  }
+
   @ParameterizedTest
   @CsvSource({
     "50, 2",
@@ -867,6 +1087,51 @@ class SonarComponentsTest {
     assertThat(sonarComponents.fileCanBeSkipped(mock(InputFile.class))).isFalse();
   }
 
+  @Test
+  void fileCanBeSkipped_returns_false_for_unchanged_files_depending_on_changed_files() throws Exception {
+    SensorContextTester sensorContextTester = SensorContextTester.create(new File(""));
+    sensorContextTester.setSettings(new MapSettings().setProperty(SonarComponents.SONAR_CAN_SKIP_UNCHANGED_FILES_KEY, true));
+    sensorContextTester.setCacheEnabled(true);
+    InputFile changedFile = inputFileWithContents("A", "class A { int i; }");
+    InputFile dependentFile = inputFileWithContents("B", "class B extends A {}");
+    InputFile independentFile = inputFileWithContents("C", "class C {}");
+    InputFile fileWithoutDependencies = inputFileWithContents("D", "class D {}");
+    ReadCache readCache = mock(ReadCache.class);
+    cache(readCache, "java:contentHash:MURMUR3_128:A", FileHashingUtils.inputFileContentHash(inputFileWithContents("A", "class A {}")));
+    cache(readCache, "java:contentHash:MURMUR3_128:B", FileHashingUtils.inputFileContentHash(dependentFile));
+    cache(readCache, "java:contentHash:MURMUR3_128:C", FileHashingUtils.inputFileContentHash(independentFile));
+    cache(readCache, "java:contentHash:MURMUR3_128:D", FileHashingUtils.inputFileContentHash(fileWithoutDependencies));
+    cache(readCache, "java:dependencies:A", "A\n".getBytes(StandardCharsets.UTF_8));
+    cache(readCache, "java:dependencies:B", "B\nA".getBytes(StandardCharsets.UTF_8));
+    cache(readCache, "java:dependencies:C", "C\n".getBytes(StandardCharsets.UTF_8));
+    sensorContextTester.setPreviousCache(readCache);
+    sensorContextTester.setNextCache(mock(WriteCache.class));
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    sonarComponents.setSensorContext(sensorContextTester);
+
+    assertThat(sonarComponents.fileCanBeSkipped(dependentFile)).isTrue();
+    // parsed to record its dependencies
+    assertThat(sonarComponents.fileCanBeSkipped(fileWithoutDependencies)).isFalse();
+
+    sonarComponents.computeFilesDependingOnChangedFiles(List.of(changedFile, dependentFile, independentFile));
+    assertThat(logTester.logs(Level.INFO)).contains("1 unchanged files depend on changed files and will be fully analyzed.");
+    assertThat(sonarComponents.fileCanBeSkipped(changedFile)).isFalse();
+    assertThat(sonarComponents.fileCanBeSkipped(dependentFile)).isFalse();
+    assertThat(sonarComponents.fileCanBeSkipped(independentFile)).isTrue();
+  }
+
+  private static InputFile inputFileWithContents(String key, String contents) throws IOException {
+    InputFile inputFile = mock(InputFile.class);
+    lenient().when(inputFile.key()).thenReturn(key);
+    when(inputFile.contents()).thenReturn(contents);
+    return inputFile;
+  }
+
+  private static void cache(ReadCache readCache, String key, byte[] value) {
+    when(readCache.contains(key)).thenReturn(true);
+    when(readCache.read(key)).thenAnswer(invocation -> new ByteArrayInputStream(value));
+  }
+
   private static Stream<Arguments> fileCanBeSkipped_only_logs_on_first_call_input() throws ApiMismatchException {
     ApiMismatchException apiMismatchException = new ApiMismatchException(new NoSuchMethodError("API version mismatch :-("));
 
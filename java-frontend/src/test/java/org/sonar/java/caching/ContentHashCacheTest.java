@@ -22,11 +22,14 @@ package org.sonar.java.caching;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.event.Level;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.cache.ReadCache;
@@ -39,6 +42,9 @@ import org.sonar.java.TestUtils;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class ContentHashCacheTest {
@@ -50,7 +56,7 @@ class ContentHashCacheTest {
   private final InputFile inputFile = TestUtils.inputFile(file.getAbsoluteFile().getAbsolutePath(), file, InputFile.Type.TEST);
 
   @Test
-  void hasSameHashCached_returns_true_when_content_hash_file_is_in_read_cache() throws IOException, NoSuchAlgorithmException {
+  void hasSameHashCached_returns_true_when_content_hash_file_is_in_read_cache() throws IOException {
     logTester.setLevel(Level.TRACE);
     ContentHashCache contentHashCache = new ContentHashCache(getSensorContextTester());
     Assertions.assertTrue(contentHashCache.hasSameHashCached(inputFile));
@@ -64,7 +70,7 @@ class ContentHashCacheTest {
   @Test
   void hasSameHashCached_returns_false_when_content_hash_file_is_not_in_read_cache_with_proper_logging() {
     String[] messages = new String[]{
-      "Could not find key java:contentHash:MD5:" + inputFile.key() + " in the cache",
+      "Could not find key java:contentHash:MURMUR3_128:" + inputFile.key() + " in the cache",
       "Reading cache for the file " + inputFile.key(),
       "Writing to the cache for file " + inputFile.key()
     };
@@ -124,8 +130,8 @@ class ContentHashCacheTest {
     SensorContextTester sensorContext = SensorContextTester.create(file.getAbsoluteFile());
     sensorContext.setCacheEnabled(true);
     ReadCache readCache = mock(ReadCache.class);
-    when(readCache.read("java:contentHash:MD5:" + inputFile.key())).thenReturn(new ByteArrayInputStream("Dummy content hash".getBytes()));
-    when(readCache.contains("java:contentHash:MD5:" + inputFile.key())).thenReturn(true);
+    when(readCache.read("java:contentHash:MURMUR3_128:" + inputFile.key())).thenReturn(new ByteArrayInputStream("Dummy content hash".getBytes()));
+    when(readCache.contains("java:contentHash:MURMUR3_128:" + inputFile.key())).thenReturn(true);
     WriteCache writeCache = mock(WriteCache.class);
     sensorContext.setPreviousCache(readCache);
     sensorContext.setNextCache(writeCache);
@@ -148,8 +154,8 @@ class ContentHashCacheTest {
     // mocking static method requires mockito-inline, which currently breaks the tests.
     InputFile inputFile1 = mock(InputFile.class);
     when(inputFile1.key()).thenReturn("key");
-    when(readCache.read("java:contentHash:MD5:" + inputFile1.key())).thenReturn(new ByteArrayInputStream("string".getBytes()));
-    when(readCache.contains("java:contentHash:MD5:" + inputFile1.key())).thenReturn(true);
+    when(readCache.read("java:contentHash:MURMUR3_128:" + inputFile1.key())).thenReturn(new ByteArrayInputStream("string".getBytes()));
+    when(readCache.contains("java:contentHash:MURMUR3_128:" + inputFile1.key())).thenReturn(true);
     WriteCache writeCache = mock(WriteCache.class);
     sensorContext.setPreviousCache(readCache);
     sensorContext.setNextCache(writeCache);
@@ -163,7 +169,7 @@ class ContentHashCacheTest {
   }
 
   @Test
-  void contains_returns_true_when_file_is_in_cache() throws IOException, NoSuchAlgorithmException {
+  void contains_returns_true_when_file_is_in_cache() throws IOException {
     ContentHashCache contentHashCache = new ContentHashCache(getSensorContextTester());
     Assertions.assertTrue(contentHashCache.contains(inputFile));
   }
@@ -181,22 +187,20 @@ class ContentHashCacheTest {
   }
 
   @Test
-  void writeToCache_returns_false_when_writing_to_cache_throws_exception_with_proper_logging() throws IOException,
-    NoSuchAlgorithmException {
-    String message = "Tried to write multiple times to cache key java:contentHash:MD5:" + inputFile.key() + ". Ignoring writes after the " +
+  void writeToCache_returns_false_when_writing_to_cache_throws_exception_with_proper_logging() throws IOException {
+    String message = "Tried to write multiple times to cache key java:contentHash:MURMUR3_128:" + inputFile.key() + ". Ignoring writes after the " +
       "first.";
     assertThat(writeToCache_returns_false_when_writing_to_cache_throws_exception(Level.TRACE)).contains(message);
     assertThat(writeToCache_returns_false_when_writing_to_cache_throws_exception(Level.WARN)).doesNotContain(message);
   }
 
-  private List<String> writeToCache_returns_false_when_writing_to_cache_throws_exception(Level level) throws IOException,
-    NoSuchAlgorithmException {
+  private List<String> writeToCache_returns_false_when_writing_to_cache_throws_exception(Level level) throws IOException {
     logTester.setLevel(level);
     SensorContextTester sensorContext = SensorContextTester.create(file.getAbsoluteFile());
     sensorContext.setCacheEnabled(true);
     WriteCache writeCache = mock(WriteCache.class);
     sensorContext.setNextCache(writeCache);
-    doThrow(new IllegalArgumentException()).when(writeCache).write("java:contentHash:MD5:" + inputFile.key(),
+    doThrow(new IllegalArgumentException()).when(writeCache).write("java:contentHash:MURMUR3_128:" + inputFile.key(),
       FileHashingUtils.inputFileContentHash(file.getPath()));
     ContentHashCache contentHashCache = new ContentHashCache(sensorContext);
     Assertions.assertFalse(contentHashCache.writeToCache(inputFile));
@@ -223,11 +227,76 @@ class ContentHashCacheTest {
       contains("Failed to compute content hash for file " + inputFile1.key());
   }
 
+  @Test
+  void isUnchanged_compares_hashes_without_writing_to_the_cache() throws IOException {
+    SensorContextTester sensorContext = getSensorContextTester();
+    assertThat(new ContentHashCache(sensorContext).isUnchanged(inputFile)).isTrue();
+    assertThat(new ContentHashCache(getSensorContextTesterWithEmptyCache(true)).isUnchanged(inputFile)).isFalse();
+    verifyNoInteractions(sensorContext.nextCache());
+  }
+
+  @Test
+  void isUnchanged_relies_on_file_status_when_cache_is_disabled() {
+    InputFile sameFile = mock(InputFile.class);
+    when(sameFile.status()).thenReturn(InputFile.Status.SAME);
+    InputFile changedFile = mock(InputFile.class);
+    when(changedFile.status()).thenReturn(InputFile.Status.CHANGED);
+    ContentHashCache contentHashCache = new ContentHashCache(getSensorContextTesterWithEmptyCache(false));
+    assertThat(contentHashCache.isUnchanged(sameFile)).isTrue();
+    assertThat(contentHashCache.isUnchanged(changedFile)).isFalse();
+  }
+
+  @Test
+  void computeHashes_computes_the_hashes_of_all_files() throws IOException {
+    File otherFile = new File("src/test/files/api/JavaFileInternalJavaIssueBuilderTest.java");
+    InputFile otherInputFile = TestUtils.inputFile(otherFile.getAbsoluteFile().getAbsolutePath(), otherFile, InputFile.Type.MAIN);
+    InputFile failingFile = mock(InputFile.class);
+    when(failingFile.key()).thenReturn("failing");
+    when(failingFile.contents()).thenThrow(new IOException());
+
+    Map<String, byte[]> hashes = ContentHashCache.computeHashes(List.of(inputFile, otherInputFile, failingFile));
+
+    assertThat(hashes).containsOnlyKeys(inputFile.key(), otherInputFile.key());
+    assertThat(hashes.get(inputFile.key())).isEqualTo(FileHashingUtils.inputFileContentHash(inputFile));
+    assertThat(hashes.get(otherInputFile.key())).isEqualTo(FileHashingUtils.inputFileContentHash(otherFile.getPath()));
+  }
+
+  @Test
+  void precomputed_hashes_are_used_instead_of_reading_the_file() throws IOException {
+    InputFile precomputedFile = mock(InputFile.class);
+    when(precomputedFile.key()).thenReturn(inputFile.key());
+    ContentHashCache contentHashCache = new ContentHashCache(getSensorContextTester(),
+      Map.of(inputFile.key(), FileHashingUtils.inputFileContentHash(inputFile)));
+    assertThat(contentHashCache.isUnchanged(precomputedFile)).isTrue();
+    verify(precomputedFile, never()).contents();
+  }
+
+  @Test
+  void content_hash_does_not_depend_on_how_the_file_is_read() throws IOException {
+    InputFile inMemoryFile = mock(InputFile.class);
+    when(inMemoryFile.contents()).thenReturn(inputFile.contents());
+    assertThat(FileHashingUtils.inputFileContentHash(inMemoryFile))
+      .hasSize(16)
+      .isEqualTo(FileHashingUtils.inputFileContentHash(inputFile))
+      .isEqualTo(FileHashingUtils.inputFileContentHash(file.getPath()));
+  }
+
+  @Test
+  void content_hash_of_file_larger_than_the_read_buffer(@TempDir Path tempDir) throws IOException {
+    byte[] content = new byte[200_003];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    Path largeFile = Files.write(tempDir.resolve("Large.java"), content);
+    assertThat(FileHashingUtils.inputFileContentHash(largeFile.toString()))
+      .isEqualTo(new Murmur3Hash128().update(content).digest());
+  }
+
   private SensorContextTester getSensorContextTesterWithEmptyCache(boolean isCacheEnabled) {
     SensorContextTester sensorContext = SensorContextTester.create(file.getAbsoluteFile());
     sensorContext.setCacheEnabled(isCacheEnabled);
     ReadCache readCache = mock(ReadCache.class);
-    when(readCache.read("java:contentHash:MD5:" + inputFile.key())).thenThrow(new IllegalArgumentException());
+    when(readCache.read("java:contentHash:MURMUR3_128:" + inputFile.key())).thenThrow(new IllegalArgumentException());
     WriteCache writeCache = mock(WriteCache.class);
     sensorContext.setPreviousCache(readCache);
     sensorContext.setNextCache(writeCache);
@@ -235,12 +304,12 @@ class ContentHashCacheTest {
     return sensorContext;
   }
 
-  private SensorContextTester getSensorContextTester() throws IOException, NoSuchAlgorithmException {
+  private SensorContextTester getSensorContextTester() throws IOException {
     SensorContextTester sensorContext = SensorContextTester.create(file.getAbsoluteFile());
     sensorContext.setCacheEnabled(true);
     ReadCache readCache = mock(ReadCache.class);
-    when(readCache.read("java:contentHash:MD5:" + inputFile.key())).thenReturn(new ByteArrayInputStream(FileHashingUtils.inputFileContentHash(inputFile)));
-    when(readCache.contains("java:contentHash:MD5:" + inputFile.key())).thenReturn(true);
+    when(readCache.read("java:contentHash:MURMUR3_128:" + inputFile.key())).thenReturn(new ByteArrayInputStream(FileHashingUtils.inputFileContentHash(inputFile)));
+    when(readCache.contains("java:contentHash:MURMUR3_128:" + inputFile.key())).thenReturn(true);
     WriteCache writeCache = mock(WriteCache.class);
     sensorContext.setPreviousCache(readCache);
     sensorContext.setNextCache(writeCache);
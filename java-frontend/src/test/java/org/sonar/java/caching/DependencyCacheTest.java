@@ -0,0 +1,129 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.sensor.cache.ReadCache;
+import org.sonar.api.batch.sensor.cache.WriteCache;
+import org.sonar.api.batch.sensor.internal.SensorContextTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DependencyCacheTest {
+
+  private final ReadCache readCache = mock(ReadCache.class);
+  private final WriteCache writeCache = mock(WriteCache.class);
+
+  @Test
+  void dependencies_are_written_to_the_cache() {
+    DependencyCache cache = new DependencyCache(sensorContext(true));
+    assertThat(cache.isEnabled()).isTrue();
+    InputFile inputFile = inputFile("A");
+    cache.write(inputFile, List.of("org.A"), List.of("org.B", "org.C"));
+    verify(writeCache).write("java:dependencies:A", "org.A\norg.B,org.C".getBytes(StandardCharsets.UTF_8));
+
+    doThrow(new IllegalArgumentException()).when(writeCache).write(anyString(), any(byte[].class));
+    cache.write(inputFile, List.of("org.A"), List.of());
+  }
+
+  @Test
+  void dependencies_are_copied_from_previous_analysis_when_present() {
+    DependencyCache cache = new DependencyCache(sensorContext(true));
+    when(readCache.contains("java:dependencies:A")).thenReturn(true);
+    assertThat(cache.hasPrevious(inputFile("A"))).isTrue();
+    assertThat(cache.hasPrevious(inputFile("B"))).isFalse();
+    cache.copyFromPrevious(inputFile("A"));
+    cache.copyFromPrevious(inputFile("B"));
+    verify(writeCache).copyFromPrevious("java:dependencies:A");
+    verify(writeCache, never()).copyFromPrevious("java:dependencies:B");
+
+    doThrow(new IllegalArgumentException()).when(writeCache).copyFromPrevious(anyString());
+    cache.copyFromPrevious(inputFile("A"));
+  }
+
+  @Test
+  void disabled_cache_does_nothing() {
+    DependencyCache cache = new DependencyCache(sensorContext(false));
+    assertThat(cache.isEnabled()).isFalse();
+    InputFile inputFile = inputFile("A");
+    cache.write(inputFile, List.of("org.A"), List.of("org.B"));
+    cache.copyFromPrevious(inputFile);
+    assertThat(cache.hasPrevious(inputFile)).isFalse();
+    assertThat(cache.filesDependingOnChangedFiles(List.of(inputFile), file -> true)).isEmpty();
+  }
+
+  @Test
+  void transitive_dependents_of_changed_files_are_invalidated() {
+    cached(Map.of(
+      "A", "org.A\n",
+      "B", "org.B\norg.A",
+      "C", "org.C\norg.B,lib.X",
+      "D", "org.D,org.D2\norg.E",
+      "E", "org.E\norg.A",
+      "F", "org.F\n",
+      "Broken", "no line break"));
+    DependencyCache cache = new DependencyCache(sensorContext(true));
+    List<InputFile> inputFiles = List.of(inputFile("A"), inputFile("B"), inputFile("C"), inputFile("D"), inputFile("E"), inputFile("F"),
+      inputFile("Broken"), inputFile("New"));
+    Set<String> changedFiles = Set.of("A", "E", "New", "Broken");
+
+    Set<String> invalidated = cache.filesDependingOnChangedFiles(inputFiles, inputFile -> changedFiles.contains(inputFile.key()));
+
+    // A changed: B depends on A, C depends on B. D depends on E, which changed.
+    assertThat(invalidated).containsExactlyInAnyOrder("B", "C", "D");
+  }
+
+  private void cached(Map<String, String> dependencies) {
+    dependencies.forEach((fileKey, content) -> {
+      String key = "java:dependencies:" + fileKey;
+      when(readCache.contains(key)).thenReturn(true);
+      when(readCache.read(key)).thenAnswer(invocation -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    });
+  }
+
+  private SensorContextTester sensorContext(boolean cacheEnabled) {
+    SensorContextTester sensorContext = SensorContextTester.create(new File(""));
+    sensorContext.setCacheEnabled(cacheEnabled);
+    sensorContext.setPreviousCache(readCache);
+    sensorContext.setNextCache(writeCache);
+    return sensorContext;
+  }
+
+  private static InputFile inputFile(String key) {
+    InputFile inputFile = mock(InputFile.class);
+    when(inputFile.key()).thenReturn(key);
+    return inputFile;
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.caching;
+
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Murmur3Hash128Test {
+
+  @Test
+  void digest_matches_reference_implementation() {
+    Random random = new Random(42);
+    for (int length = 0; length < 100; length++) {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      assertThat(new Murmur3Hash128().update(bytes).digest())
+        .as("length %d", length)
+        .isEqualTo(Hashing.murmur3_128().hashBytes(bytes).asBytes());
+    }
+  }
+
+  @Test
+  void digest_does_not_depend_on_how_the_bytes_are_split() {
+    byte[] bytes = "class A { void foo() { int i = 0; } }".getBytes(StandardCharsets.UTF_8);
+    byte[] expected = new Murmur3Hash128().update(bytes).digest();
+    for (int split = 0; split <= bytes.length; split++) {
+      byte[] actual = new Murmur3Hash128()
+        .update(ByteBuffer.wrap(bytes, 0, split))
+        .update(ByteBuffer.wrap(bytes, split, bytes.length - split))
+        .digest();
+      assertThat(actual).as("split at %d", split).isEqualTo(expected);
+    }
+    Murmur3Hash128 hash = new Murmur3Hash128();
+    for (byte b : bytes) {
+      hash.update(new byte[] {b});
+    }
+    assertThat(hash.digest()).isEqualTo(expected);
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SynchronizedCacheContextTest {
+
+  @Test
+  void accesses_are_delegated_to_the_cache_context() {
+    JavaReadCache readCache = mock(JavaReadCache.class);
+    JavaWriteCache writeCache = mock(JavaWriteCache.class);
+    CacheContext cacheContext = mock(CacheContext.class);
+    doReturn(true).when(cacheContext).isCacheEnabled();
+    doReturn(readCache).when(cacheContext).getReadCache();
+    doReturn(writeCache).when(cacheContext).getWriteCache();
+    byte[] bytes = "message".getBytes(StandardCharsets.UTF_8);
+    InputStream stream = new ByteArrayInputStream(bytes);
+    doReturn(stream).when(readCache).read("key");
+    doReturn(bytes).when(readCache).readBytes("key");
+    doReturn(true).when(readCache).contains("key");
+
+    SynchronizedCacheContext synchronizedCacheContext = new SynchronizedCacheContext(cacheContext, new Object());
+
+    assertThat(synchronizedCacheContext.isCacheEnabled()).isTrue();
+    assertThat(synchronizedCacheContext.getReadCache().read("key")).isSameAs(stream);
+    assertThat(synchronizedCacheContext.getReadCache().readBytes("key")).isSameAs(bytes);
+    assertThat(synchronizedCacheContext.getReadCache().contains("key")).isTrue();
+
+    synchronizedCacheContext.getWriteCache().write("key", bytes);
+    synchronizedCacheContext.getWriteCache().write("key", stream);
+    synchronizedCacheContext.getWriteCache().copyFromPrevious("key");
+    verify(writeCache).write("key", bytes);
+    verify(writeCache).write("key", stream);
+    verify(writeCache).copyFromPrevious("key");
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDependenciesTest {
+
+  @Test
+  void declared_and_referenced_top_level_types() {
+    JavaTree.CompilationUnitTreeImpl tree = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse("""
+      package org.foo;
+      import java.util.List;
+      import org.sonar.java.model.JavaTree;
+      import org.sonar.java.SonarComponents;
+      class A {
+        class Inner {}
+        JavaTree.CompilationUnitTreeImpl tree;
+        List<Inner[]> inners;
+        Unknown unknown;
+        <T> T m(T t, int i) {
+          String local = SonarComponents.SONAR_BATCH_SIZE_KEY;
+          new Object() {};
+          return LineUtils.splitLines(local).isEmpty() ? t : null;
+        }
+      }
+      interface B extends Comparable<A> {}
+      """);
+    FileDependencies dependencies = FileDependencies.of(tree, name -> name.startsWith("org.sonar."));
+    assertThat(dependencies.declaredTypes()).containsExactly("org.foo.A", "org.foo.B");
+    assertThat(dependencies.referencedTypes()).containsExactly("org.sonar.java.SonarComponents", "org.sonar.java.model.JavaTree");
+  }
+
+  @Test
+  void types_resolved_from_bytecode_are_ignored_unless_compiled_by_the_project() {
+    JavaTree.CompilationUnitTreeImpl tree = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse("""
+      package org.foo;
+      import org.sonar.java.model.JavaTree;
+      import org.sonar.java.SonarComponents;
+      class A {
+        JavaTree.CompilationUnitTreeImpl tree;
+        String key = SonarComponents.SONAR_BATCH_SIZE_KEY;
+      }
+      """);
+    assertThat(FileDependencies.of(tree, name -> false).referencedTypes()).isEmpty();
+    assertThat(FileDependencies.of(tree, "org.sonar.java.SonarComponents"::equals).referencedTypes())
+      .containsExactly("org.sonar.java.SonarComponents");
+  }
+
+  @Test
+  void no_dependencies_without_semantic() {
+    JavaTree.CompilationUnitTreeImpl tree = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse("class A {}");
+    tree.sema = null;
+    FileDependencies dependencies = FileDependencies.of(tree, name -> true);
+    assertThat(dependencies.declaredTypes()).isEmpty();
+    assertThat(dependencies.referencedTypes()).isEmpty();
+  }
+
+}
@@ -59,6 +59,17 @@ class InternalSyntaxTokenTest {
       .isEqualTo(Range.at(10,8,13, 4));
   }
 
+  @Test
+  void range_is_created_once() {
+    InternalSyntaxToken token = token(42, 22, "foo");
+    assertThat(token.range()).isSameAs(token.range());
+
+    InternalSyntaxToken copy = new InternalSyntaxToken(token);
+    assertThat(copy.line()).isEqualTo(42);
+    assertThat(copy.column()).isEqualTo(21);
+    assertThat(copy.range()).isEqualTo(Range.at(42, 22, 42, 25));
+  }
+
   private static InternalSyntaxToken token(int line, int column, String value) {
     int columnOffset = column - 1;
     return new InternalSyntaxToken(line, columnOffset, value, Collections.emptyList(), false);
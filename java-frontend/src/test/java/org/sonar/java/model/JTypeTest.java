@@ -296,6 +296,24 @@ class JTypeTest {
       .containsExactly("NullPointerException while resolving isSubTypeCompatible()");
   }
 
+  @Test
+  void subtype_queries_are_cached() {
+    JType stringType = type("java.lang.String");
+    JType objectType = type("java.lang.Object");
+    TypeHierarchyCache cache = sema.typeHierarchyCache();
+
+    assertThat(stringType.isSubtypeOf("java.lang.CharSequence")).isTrue();
+    assertThat(stringType.isSubtypeOf("java.lang.CharSequence")).isTrue();
+    assertThat(objectType.isSubtypeOf(stringType)).isFalse();
+    assertThat(objectType.isSubtypeOf(stringType)).isFalse();
+    assertThat(objectType.isSubtypeOf("java.lang.Unknown")).isFalse();
+
+    // a query by name is answered by a query on the resolved type when it is not cached
+    assertThat(cache.misses()).isEqualTo(4);
+    assertThat(cache.hits()).isEqualTo(2);
+    assertThat(cache).hasToString("2 hits and 4 misses on subtype queries");
+  }
+
   @Test
   void wildcard() {
     JavaTree.CompilationUnitTreeImpl cu = test("class C<T1, T2, T3> { C<? extends String, ? extends String, ? super String> f; }");
@@ -34,6 +34,7 @@ import org.slf4j.event.Level;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
+import org.sonar.api.batch.sensor.symbol.NewSymbolTable;
 import org.sonar.api.config.internal.MapSettings;
 import org.sonar.api.testfixtures.log.LogAndArguments;
 import org.sonar.api.testfixtures.log.LogTesterJUnit5;
@@ -43,6 +44,7 @@ import org.sonar.plugins.java.api.JavaVersionAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.TestUtils;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.caching.SynchronizedCacheContext;
 import org.sonar.java.checks.EndOfAnalysisVisitor;
 import org.sonar.java.checks.VisitorThatCanBeSkipped;
 import org.sonar.java.exceptions.ApiMismatchException;
@@ -63,6 +65,7 @@ import org.sonar.plugins.java.api.tree.Tree.Kind;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -220,6 +223,81 @@ class VisitorsBridgeTest {
     assertThat(logTester.logs(Level.ERROR)).isEmpty();
   }
 
+  @Test
+  void subscription_visitors_are_notified_in_registration_order() {
+    List<String> events = new ArrayList<>();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(List.of(
+      new RecordingVisitor("A", events, Tree.Kind.CLASS, Tree.Kind.TRIVIA),
+      new RecordingVisitor("B", events, Tree.Kind.CLASS, Tree.Kind.TOKEN)),
+      new ArrayList<>(), null);
+    checkFile("Test.java", "/* comment */ class C { }", visitorsBridge);
+    assertThat(events).containsExactly(
+      "A visitNode CLASS",
+      "B visitNode CLASS",
+      "B visitToken class",
+      "A visitTrivia /* comment */",
+      "B visitToken C",
+      "B visitToken {",
+      "B visitToken }",
+      "A leaveNode CLASS",
+      "B leaveNode CLASS",
+      "B visitToken ");
+  }
+
+  @Test
+  void subscription_visitors_are_not_notified_of_kinds_absent_from_the_file() {
+    List<String> events = new ArrayList<>();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(List.of(
+      new RecordingVisitor("A", events, Tree.Kind.LAMBDA_EXPRESSION),
+      new RecordingVisitor("B", events, Tree.Kind.METHOD_INVOCATION)),
+      new ArrayList<>(), null);
+    checkFile("Test.java", "class C { void m() { } }", visitorsBridge);
+    assertThat(events).isEmpty();
+    checkFile("Test.java", "@interface A { Class<?> value(); } @A(value = C.class) class C { void m() { foo(bar()); } }", visitorsBridge);
+    assertThat(events).containsExactly(
+      "B visitNode METHOD_INVOCATION",
+      "B visitNode METHOD_INVOCATION",
+      "B leaveNode METHOD_INVOCATION",
+      "B leaveNode METHOD_INVOCATION");
+  }
+
+  private static class RecordingVisitor extends IssuableSubscriptionVisitor {
+    private final String name;
+    private final List<String> events;
+    private final List<Tree.Kind> nodesToVisit;
+
+    RecordingVisitor(String name, List<String> events, Tree.Kind... nodesToVisit) {
+      this.name = name;
+      this.events = events;
+      this.nodesToVisit = List.of(nodesToVisit);
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return nodesToVisit;
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      events.add(name + " visitNode " + tree.kind());
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      events.add(name + " leaveNode " + tree.kind());
+    }
+
+    @Override
+    public void visitToken(SyntaxToken syntaxToken) {
+      events.add(name + " visitToken " + syntaxToken.text());
+    }
+
+    @Override
+    public void visitTrivia(SyntaxTrivia syntaxTrivia) {
+      events.add(name + " visitTrivia " + syntaxTrivia.comment());
+    }
+  }
+
   @Test
   void should_not_create_symbol_table_for_generated() {
     SonarComponents sonarComponents = mock(SonarComponents.class);
@@ -379,6 +457,76 @@ class VisitorsBridgeTest {
     verify(incompatibleVisitor, never()).visitNode(any());
   }
 
+  @Test
+  void visitors_delegated_to_workers_are_only_run_by_worker_bridges() throws ApiMismatchException {
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    doReturn(true).when(sonarComponents).canSkipUnchangedFiles();
+    doReturn(mock(NewSymbolTable.class)).when(sonarComponents).symbolizableFor(any());
+
+    VisitorNotInChecksPackage sharedVisitor = spy(new VisitorNotInChecksPackage());
+    VisitorNotInChecksPackage delegatedVisitor = spy(new VisitorNotInChecksPackage());
+    VisitorNotInChecksPackage workerVisitor = spy(new VisitorNotInChecksPackage());
+
+    VisitorsBridge visitorsBridge = new VisitorsBridge(
+      List.of(sharedVisitor, delegatedVisitor),
+      Collections.emptyList(),
+      sonarComponents,
+      JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION
+    );
+    visitorsBridge.delegateToWorkers(List.of(delegatedVisitor));
+    VisitorsBridge workerBridge = visitorsBridge.createWorkerBridge(List.of(workerVisitor));
+    // the cache is accessed concurrently by the bridges
+    assertThat(visitorsBridge.cacheContext).isInstanceOf(SynchronizedCacheContext.class);
+    assertThat(workerBridge.cacheContext).isSameAs(visitorsBridge.cacheContext);
+
+    visitorsBridge.setCurrentFile(INPUT_FILE);
+    visitorsBridge.visitFile(COMPILATION_UNIT_TREE, false);
+    workerBridge.setCurrentFile(INPUT_FILE);
+    workerBridge.visitFile(COMPILATION_UNIT_TREE, false);
+
+    verify(sharedVisitor, times(1)).visitNode(any());
+    verify(delegatedVisitor, never()).visitNode(any());
+    verify(workerVisitor, times(1)).visitNode(any());
+    // the symbol table and the dependencies are only created by the main bridge
+    verify(sonarComponents, times(1)).symbolizableFor(any());
+    verify(sonarComponents, times(1)).recordDependencies(any(), any());
+
+    // delegated visitors are still used to scan files without parsing them
+    doReturn(true).when(sonarComponents).fileCanBeSkipped(any());
+    visitorsBridge.scanWithoutParsing(INPUT_FILE);
+    verify(delegatedVisitor, times(1)).scanWithoutParsing(any());
+
+    // files visited by worker bridges are accounted for by the main bridge
+    workerBridge.endOfAnalysis();
+    assertThat(logTester.getLogs(Level.INFO)).isEmpty();
+    visitorsBridge.endOfAnalysis();
+    assertThat(logTester.getLogs(Level.INFO))
+      .extracting(LogAndArguments::getFormattedMsg)
+      .containsExactly("Did not optimize analysis for any files, performed a full analysis for all 1 files.");
+  }
+
+  @Test
+  void end_of_analysis_of_visitors_delegated_to_workers_is_run_by_the_main_bridge() {
+    DefaultEndOfAnalysisCheck sharedVisitor = spy(new DefaultEndOfAnalysisCheck());
+    DefaultEndOfAnalysisCheck delegatedVisitor = spy(new DefaultEndOfAnalysisCheck());
+    DefaultEndOfAnalysisCheck workerVisitor = spy(new DefaultEndOfAnalysisCheck());
+
+    VisitorsBridge visitorsBridge = new VisitorsBridge(
+      List.of(sharedVisitor, delegatedVisitor),
+      Collections.emptyList(),
+      null,
+      JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION
+    );
+    visitorsBridge.delegateToWorkers(List.of(delegatedVisitor));
+    visitorsBridge.createWorkerBridge(List.of(workerVisitor));
+
+    visitorsBridge.endOfAnalysis();
+
+    verify(sharedVisitor, times(1)).endOfAnalysis(any());
+    verify(delegatedVisitor, times(1)).endOfAnalysis(any());
+    verify(workerVisitor, never()).endOfAnalysis(any());
+  }
+
   @Test
   void endOfAnalysis_logs_nothing_when_no_file_has_been_analyzed() {
     VisitorsBridge visitorsBridge = new VisitorsBridge(
@@ -568,6 +716,43 @@ class VisitorsBridgeTest {
       assertThat(warningLogs.get(0).getFormattedMsg()).isEqualTo(expectedLogMessage);
     }
 
+    @Test
+    void scanners_requiring_parsing_are_reported_at_the_end_of_the_analysis() throws ApiMismatchException {
+      SonarComponents sonarComponents = mock(SonarComponents.class);
+      doReturn(true).when(sonarComponents).fileCanBeSkipped(any(InputFile.class));
+      doReturn(true).when(sonarComponents).canSkipUnchangedFiles();
+      VisitorsBridge visitorsBridge = new VisitorsBridge(
+        List.of(new ScannerThatCannotScanWithoutParsing(), new IsvThatCannotScanWithoutParsing(), new DefaultEndOfAnalysisCheck()),
+        Collections.emptyList(),
+        sonarComponents);
+
+      visitorsBridge.scanWithoutParsing(mock(InputFile.class));
+      visitorsBridge.scanWithoutParsing(mock(InputFile.class));
+
+      assertThat(visitorsBridge.getParsingRequiredByScanner()).containsOnly(
+        entry(ScannerThatCannotScanWithoutParsing.class.getName(), 2),
+        entry(IsvThatCannotScanWithoutParsing.class.getName(), 2));
+
+      visitorsBridge.endOfAnalysis();
+      assertThat(logTester.logs(Level.INFO))
+        .anyMatch(log -> log.startsWith("Unchanged files could not be analyzed without parsing because of: ")
+          && log.contains(ScannerThatCannotScanWithoutParsing.class.getName() + " (2)"));
+    }
+
+    @Test
+    void dependencies_are_copied_from_previous_analysis_only_when_the_file_is_not_parsed() throws ApiMismatchException {
+      SonarComponents sonarComponents = mock(SonarComponents.class);
+      doReturn(true).when(sonarComponents).fileCanBeSkipped(any(InputFile.class));
+      doReturn(true).when(sonarComponents).canSkipUnchangedFiles();
+      InputFile inputFile = mock(InputFile.class);
+
+      scan_without_parsing(sonarComponents, new DefaultEndOfAnalysisCheck(), inputFile);
+      verify(sonarComponents, times(1)).copyDependenciesFromPrevious(inputFile);
+
+      scan_without_parsing(sonarComponents, new ScannerThatCannotScanWithoutParsing(), inputFile);
+      verify(sonarComponents, times(1)).copyDependenciesFromPrevious(inputFile);
+    }
+
     private boolean scan_without_parsing(JavaFileScanner scanner) throws ApiMismatchException {
       SonarComponents sonarComponents = mock(SonarComponents.class);
       doReturn(true).when(sonarComponents).fileCanBeSkipped(any(InputFile.class));
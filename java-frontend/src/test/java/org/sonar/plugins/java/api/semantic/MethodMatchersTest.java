@@ -247,6 +247,38 @@ class MethodMatchersTest {
     assertThat(findMatchesOnSymbol(source, MethodMatchers.none())).isEmpty();
   }
 
+  @Test
+  void test_or_of_names_and_name_predicates() {
+    String source = "" +
+      /* 01 */ "interface A {\n" +
+      /* 02 */ "  void a(int x);\n" +
+      /* 03 */ "  void b(int x);\n" +
+      /* 04 */ "  void c(int x);\n" +
+      /* 05 */ "}\n" +
+      /* 06 */ "class Main {\n" +
+      /* 07 */ "  void main(A a) {\n" +
+      /* 08 */ "    a.a(12);\n" +
+      /* 09 */ "    a.b(12);\n" +
+      /* 10 */ "    a.c(12);\n" +
+      /* 11 */ "    new Main();\n" +
+      /* 12 */ "  }\n" +
+      /* 13 */ "} \n";
+
+    MethodMatchers namesAndPredicate = MethodMatchers.or(
+      MethodMatchers.create().ofTypes("A").names("a").withAnyParameters().build(),
+      MethodMatchers.create().ofTypes("A").names("a", "b").addParametersMatcher("long").build(),
+      MethodMatchers.create().ofTypes("A").name(name -> name.startsWith("c")).withAnyParameters().build(),
+      MethodMatchers.create().ofTypes("Main").constructor().withAnyParameters().build());
+    assertThat(findMatchesOnTree(source, namesAndPredicate)).containsExactly(2, 4, 8, 10, 11);
+    assertThat(findMatchesOnSymbol(source, namesAndPredicate)).containsExactly(2, 4, 8, 10, 11);
+
+    MethodMatchers anyNameAndNestedOr = MethodMatchers.or(
+      MethodMatchers.create().ofTypes("A").names("a").withAnyParameters().build(),
+      MethodMatchers.or(MethodMatchers.create().ofTypes("A").names("b").withAnyParameters().build()),
+      MethodMatchers.create().ofTypes("Main").anyName().withAnyParameters().build());
+    assertThat(findMatchesOnTree(source, anyNameAndNestedOr)).containsExactly(2, 3, 7, 8, 9, 11);
+  }
+
   @Test
   void test_inheritance() {
     String source = "" +
@@ -0,0 +1,84 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.sonar.java.Preconditions;
+
+/**
+ * Compiles the JSON definitions of the hardcoded method behaviors into the resource read by {@link HardcodedMethodBehaviors}.
+ * Run by the build, with the directory of the JSON files and the resource to write as arguments. It is compiled apart from the
+ * main classes, against them, and is not part of the artifact.
+ */
+public final class HardcodedMethodBehaviorsCompiler {
+
+  private static final Type LIST_OF_METHOD_BEHAVIORS_TYPE = new TypeToken<List<MethodBehavior>>() {}.getType();
+
+  private HardcodedMethodBehaviorsCompiler() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    Preconditions.checkArgument(args.length == 2, "Expected arguments: <directory of JSON behaviors> <output file>");
+    compile(Paths.get(args[0]), Paths.get(args[1]));
+  }
+
+  static void compile(Path jsonDirectory, Path output) throws IOException {
+    byte[] data = HardcodedMethodBehaviors.write(readJson(jsonDirectory));
+    Path outputDirectory = output.toAbsolutePath().getParent();
+    if (outputDirectory != null) {
+      Files.createDirectories(outputDirectory);
+    }
+    Files.write(output, data);
+  }
+
+  /**
+   * Behaviors of all the JSON files of the directory, the files being read in the order of their names.
+   */
+  static List<MethodBehavior> readJson(Path jsonDirectory) throws IOException {
+    List<Path> jsonFiles;
+    try (Stream<Path> files = Files.list(jsonDirectory)) {
+      jsonFiles = files
+        .filter(file -> file.getFileName().toString().endsWith(".json"))
+        .sorted()
+        .toList();
+    }
+    Gson gson = MethodBehaviorJsonAdapter.gson();
+    List<MethodBehavior> behaviors = new ArrayList<>();
+    for (Path jsonFile : jsonFiles) {
+      try (Reader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+        List<MethodBehavior> deserialized = gson.fromJson(reader, LIST_OF_METHOD_BEHAVIORS_TYPE);
+        Preconditions.checkState(deserialized != null, "No method behaviors in %s", jsonFile);
+        behaviors.addAll(deserialized);
+      }
+    }
+    return behaviors;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.annotation.CheckForNull;
+import org.sonar.java.annotations.VisibleForTesting;
+
+/**
+ * Time and memory which the symbolic execution can spend on a method and on all the methods of a file, on top of the limits of the
+ * {@link ExplodedGraphWalker} in number of steps. A limit of 0 means no limit.
+ * The budget is checked by the walker every few steps, so it can be slightly exceeded.
+ * <p>
+ * The {@link FlowComputation flow computations} of the issues raised on a method, including the ones computed once the exploration
+ * of the method is over, are always limited altogether in number of steps, so that the reported flows do not depend on the load of
+ * the machine.
+ */
+public final class ExecutionBudget {
+
+  public static final int DEFAULT_METHOD_FLOW_STEPS = 3_000_000;
+  public static final ExecutionBudget UNLIMITED = new ExecutionBudget(0L, 0L, 0L, 0);
+
+  @VisibleForTesting
+  static final int STEPS_BETWEEN_CHECKS = 64;
+
+  private final long methodTimeInNanos;
+  private final long fileTimeInNanos;
+  private final long methodAllocationInBytes;
+  private final int methodFlowSteps;
+  private final LongSupplier nanoTime;
+  private final LongSupplier allocatedBytes;
+
+  /**
+   * @param methodFlowSteps number of steps of the flow computations of the issues raised on a method, {@link #DEFAULT_METHOD_FLOW_STEPS}
+   *                        when 0
+   */
+  public ExecutionBudget(long methodTimeInMs, long fileTimeInMs, long methodAllocationInKB, int methodFlowSteps) {
+    this(methodTimeInMs, fileTimeInMs, methodAllocationInKB, methodFlowSteps, System::nanoTime, ExecutionBudget::currentThreadAllocatedBytes);
+  }
+
+  @VisibleForTesting
+  ExecutionBudget(long methodTimeInMs, long fileTimeInMs, long methodAllocationInKB, int methodFlowSteps, LongSupplier nanoTime,
+    LongSupplier allocatedBytes) {
+    this.methodTimeInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, methodTimeInMs));
+    this.fileTimeInNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, fileTimeInMs));
+    this.methodAllocationInBytes = Math.max(0L, methodAllocationInKB) * 1024L;
+    this.methodFlowSteps = methodFlowSteps > 0 ? methodFlowSteps : DEFAULT_METHOD_FLOW_STEPS;
+    this.nanoTime = nanoTime;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  public boolean isUnlimited() {
+    return methodTimeInNanos == 0L && fileTimeInNanos == 0L && methodAllocationInBytes == 0L;
+  }
+
+  FileExecution startFile() {
+    return new FileExecution(isUnlimited() ? 0L : nanoTime.getAsLong());
+  }
+
+  /**
+   * @return the number of bytes allocated by the current thread since its start, or -1 when the JVM cannot measure it
+   */
+  private static long currentThreadAllocatedBytes() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean allocationMXBean
+      && allocationMXBean.isThreadAllocatedMemorySupported()
+      && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+      return allocationMXBean.getCurrentThreadAllocatedBytes();
+    }
+    return -1L;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d ms per method, %d ms per file, %d KB per method, %d flow steps per method",
+      TimeUnit.NANOSECONDS.toMillis(methodTimeInNanos), TimeUnit.NANOSECONDS.toMillis(fileTimeInNanos), methodAllocationInBytes / 1024L,
+      methodFlowSteps);
+  }
+
+  /**
+   * Budget of the methods of a file, whose execution started when the file started to be analyzed.
+   */
+  public final class FileExecution {
+
+    private final long start;
+
+    private FileExecution(long start) {
+      this.start = start;
+    }
+
+    MethodExecution startMethod() {
+      if (isUnlimited()) {
+        return new MethodExecution(this, 0L, -1L);
+      }
+      return new MethodExecution(this, nanoTime.getAsLong(), methodAllocationInBytes == 0L ? -1L : allocatedBytes.getAsLong());
+    }
+  }
+
+  final class MethodExecution {
+
+    private final FileExecution file;
+    private final long start;
+    private final long startAllocatedBytes;
+    private int remainingFlowSteps = methodFlowSteps;
+
+    private MethodExecution(FileExecution file, long start, long startAllocatedBytes) {
+      this.file = file;
+      this.start = start;
+      this.startAllocatedBytes = startAllocatedBytes;
+    }
+
+    /**
+     * @return false if the flow computations of the issues raised on the method already took all their steps
+     */
+    boolean consumeFlowStep() {
+      if (remainingFlowSteps == 0) {
+        return false;
+      }
+      remainingFlowSteps--;
+      return true;
+    }
+
+    /**
+     * @return the description of the exceeded budget, or null if the method can still be executed
+     */
+    @CheckForNull
+    String exceededBudget(int steps) {
+      if (isUnlimited() || steps % STEPS_BETWEEN_CHECKS != 0) {
+        return null;
+      }
+      long now = nanoTime.getAsLong();
+      if (methodTimeInNanos > 0L && now - start > methodTimeInNanos) {
+        return String.format("time budget of %d ms", TimeUnit.NANOSECONDS.toMillis(methodTimeInNanos));
+      }
+      if (fileTimeInNanos > 0L && now - file.start > fileTimeInNanos) {
+        return String.format("time budget of %d ms for the file", TimeUnit.NANOSECONDS.toMillis(fileTimeInNanos));
+      }
+      if (startAllocatedBytes >= 0L && allocatedBytes.getAsLong() - startAllocatedBytes > methodAllocationInBytes) {
+        return String.format("allocation budget of %d KB", methodAllocationInBytes / 1024L);
+      }
+      return null;
+    }
+  }
+}
@@ -19,27 +19,41 @@
  */
 package org.sonar.java.se;
 
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
-import org.sonar.java.Preconditions;
-
-import org.sonar.java.se.xproc.MethodYield;
-import org.sonar.plugins.java.api.tree.Tree;
-
-import javax.annotation.Nullable;
-
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.java.Preconditions;
+import org.sonar.java.se.xproc.MethodYield;
+import org.sonar.plugins.java.api.tree.Tree;
 
 public class ExplodedGraph {
 
   private final Map<Node, Node> nodes = new HashMap<>();
   private final Map<ProgramPoint, List<Node>> nodesByProgramPoint = new HashMap<>();
+  private final ExecutionBudget.MethodExecution methodExecution;
+
+  public ExplodedGraph() {
+    this(ExecutionBudget.UNLIMITED.startFile().startMethod());
+  }
+
+  /**
+   * @param methodExecution budget of the method whose execution builds the graph, which also limits the flow computations of its issues
+   */
+  ExplodedGraph(ExecutionBudget.MethodExecution methodExecution) {
+    this.methodExecution = methodExecution;
+  }
 
   /**
    * Returns node associated with given (programPoint,programState) pair. If no node for this pair exists, it is created.
@@ -53,7 +67,7 @@ public class ExplodedGraph {
     }
     result.isNew = true;
     nodes.put(result, result);
-    nodesByProgramPoint.computeIfAbsent(programPoint, k -> new LinkedList<>()).add(result);
+    nodesByProgramPoint.computeIfAbsent(programPoint, k -> new ArrayList<>(1)).add(result);
     return result;
   }
 
@@ -61,13 +75,32 @@ public class ExplodedGraph {
     return nodes;
   }
 
+  /**
+   * Returns the nodes of the given program point, in their order of creation.
+   */
+  Collection<Node> nodes(ProgramPoint programPoint) {
+    return nodesByProgramPoint.getOrDefault(programPoint, Collections.emptyList());
+  }
+
   public static final class Node {
 
+    private static final Edge[] NO_EDGES = new Edge[0];
+    private static final int MAX_EDGES_WITHOUT_INDEX = 8;
+
     public final ProgramPoint programPoint;
     @Nullable
     public final ProgramState programState;
 
-    private final Map<Node, Edge> edges = new HashMap<>();
+    /**
+     * Edges to the parents, in their order of insertion. Most nodes have a single parent, so the edges are stored in an array,
+     * indexed by parent only once a node has many parents.
+     */
+    private Edge[] edges = NO_EDGES;
+    private int edgesCount = 0;
+    @Nullable
+    private Map<Node, Edge> edgesByParent;
+    @Nullable
+    private Set<Node> parents;
 
     private boolean isNew;
     boolean exitPath = false;
@@ -86,29 +119,65 @@ public class ExplodedGraph {
       if (parent == null) {
         return;
       }
-      Edge edge = edges.computeIfAbsent(parent, p -> new Edge(this, p));
+      Edge edge = edge(parent);
+      if (edge == null) {
+        edge = new Edge(this, parent);
+        addEdge(edge);
+      }
       if (methodYield != null) {
         Preconditions.checkState(parent.programPoint.syntaxTree().is(Tree.Kind.METHOD_INVOCATION), "Yield on edge where parent is not MIT");
-        edge.yields.add(methodYield);
+        edge.addYield(methodYield);
+      }
+    }
+
+    @CheckForNull
+    private Edge edge(Node parent) {
+      if (edgesByParent != null) {
+        return edgesByParent.get(parent);
+      }
+      for (int i = 0; i < edgesCount; i++) {
+        if (edges[i].parent.equals(parent)) {
+          return edges[i];
+        }
+      }
+      return null;
+    }
+
+    private void addEdge(Edge edge) {
+      if (edgesCount == edges.length) {
+        edges = Arrays.copyOf(edges, Math.max(1, edgesCount * 2));
+      }
+      edges[edgesCount] = edge;
+      edgesCount++;
+      if (edgesByParent != null) {
+        edgesByParent.put(edge.parent, edge);
+      } else if (edgesCount > MAX_EDGES_WITHOUT_INDEX) {
+        edgesByParent = new HashMap<>();
+        for (int i = 0; i < edgesCount; i++) {
+          edgesByParent.put(edges[i].parent, edges[i]);
+        }
       }
     }
 
     public Collection<Node> siblings() {
-      Collection<Node> collection = explodedGraph.nodesByProgramPoint.getOrDefault(programPoint, Collections.emptyList());
-      collection.remove(this);
-      return collection;
+      List<Node> siblings = new ArrayList<>(explodedGraph.nodes(programPoint));
+      siblings.remove(this);
+      return siblings;
     }
 
     @Nullable
     public Node parent() {
-      return parents().stream().findFirst().orElse(null);
+      return edgesCount == 0 ? null : edges[0].parent;
     }
 
     /**
      * @return the ordered (by insertion) sets of parents
      */
     public Set<Node> parents() {
-      return edges.keySet();
+      if (parents == null) {
+        parents = new Parents();
+      }
+      return parents;
     }
 
     @Override
@@ -131,28 +200,68 @@ public class ExplodedGraph {
     }
 
     public Collection<Edge> edges() {
-      return edges.values();
+      return Collections.unmodifiableList(Arrays.asList(edges).subList(0, edgesCount));
     }
 
     public boolean isNew() {
       return isNew;
     }
+
+    ExecutionBudget.MethodExecution methodExecution() {
+      return explodedGraph.methodExecution;
+    }
+
+    /**
+     * Unmodifiable view of the parents, reading the edges of the node as they are added.
+     */
+    private final class Parents extends AbstractSet<Node> {
+
+      @Override
+      public Iterator<Node> iterator() {
+        return new Iterator<>() {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < edgesCount;
+          }
+
+          @Override
+          public Node next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Node parent = edges[index].parent;
+            index++;
+            return parent;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return edgesCount;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return o instanceof Node parent && edge(parent) != null;
+      }
+    }
   }
 
   public static final class Edge {
     final Node child;
     final Node parent;
-    final int hashcode;
 
     private Set<LearnedConstraint> lc;
     private Set<LearnedAssociation> la;
-    private final Set<MethodYield> yields = new LinkedHashSet<>();
+    private Set<MethodYield> yields = Collections.emptySet();
 
     private Edge(Node child, Node parent) {
       Preconditions.checkState(!child.equals(parent));
       this.child = child;
       this.parent = parent;
-      hashcode = Objects.hash(child, parent);
     }
 
     public Node child() {
@@ -181,6 +290,13 @@ public class ExplodedGraph {
       return yields;
     }
 
+    private void addYield(MethodYield methodYield) {
+      if (yields.isEmpty()) {
+        yields = new LinkedHashSet<>();
+      }
+      yields.add(methodYield);
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) {
@@ -196,7 +312,7 @@ public class ExplodedGraph {
 
     @Override
     public int hashCode() {
-      return hashcode;
+      return Objects.hash(child, parent);
     }
   }
 }
@@ -23,11 +23,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -135,7 +133,7 @@ public class ExplodedGraphWalker {
   private ExplodedGraph explodedGraph;
 
   @VisibleForTesting
-  Deque<ExplodedGraph.Node> workList;
+  WorkList workList;
   ExplodedGraph.Node node;
   ProgramPoint programPosition;
   ProgramState programState;
@@ -146,6 +144,9 @@ public class ExplodedGraphWalker {
 
   private final Sema semanticModel;
   private final BehaviorCache behaviorCache;
+  private final ExplorationStatistics statistics;
+  private final ExecutionBudget.FileExecution fileExecution;
+  private ExecutionBudget.MethodExecution methodExecution;
   @VisibleForTesting
   int steps;
 
@@ -173,6 +174,13 @@ public class ExplodedGraphWalker {
     }
   }
 
+  public static class ExecutionBudgetExceededException extends MaximumStepsReachedException {
+
+    public ExecutionBudgetExceededException(String s) {
+      super(s);
+    }
+  }
+
   public static class TooManyNestedBooleanStatesException extends RuntimeException {
   }
 
@@ -190,6 +198,8 @@ public class ExplodedGraphWalker {
     this.checkerDispatcher = new CheckerDispatcher(this, checks, context);
     this.behaviorCache = behaviorCache;
     this.semanticModel = (Sema) context.getSemanticModel();
+    this.statistics = new ExplorationStatistics(ExplorationStrategy.DEPTH_FIRST);
+    this.fileExecution = ExecutionBudget.UNLIMITED.startFile();
   }
 
   @VisibleForTesting
@@ -200,10 +210,17 @@ public class ExplodedGraphWalker {
 
   @VisibleForTesting
   protected ExplodedGraphWalker(List<SECheck> seChecks, BehaviorCache behaviorCache, JavaFileScannerContext context) {
+    this(seChecks, behaviorCache, context, new ExplorationStatistics(ExplorationStrategy.DEPTH_FIRST), ExecutionBudget.UNLIMITED.startFile());
+  }
+
+  protected ExplodedGraphWalker(List<SECheck> seChecks, BehaviorCache behaviorCache, JavaFileScannerContext context, ExplorationStatistics statistics,
+    ExecutionBudget.FileExecution fileExecution) {
     this.alwaysTrueOrFalseExpressionCollector = new AlwaysTrueOrFalseExpressionCollector();
     this.checkerDispatcher = new CheckerDispatcher(this, seChecks, context);
     this.behaviorCache = behaviorCache;
     this.semanticModel = (Sema) context.getSemanticModel();
+    this.statistics = statistics;
+    this.fileExecution = fileExecution;
   }
 
   public MethodBehavior visitMethod(MethodTree tree) {
@@ -235,20 +252,47 @@ public class ExplodedGraphWalker {
     liveVariables = LiveVariables.analyze(cfg);
     liveVariablesDuration.stop();
 
-    explodedGraph = new ExplodedGraph();
+    methodExecution = fileExecution.startMethod();
+    explodedGraph = new ExplodedGraph(methodExecution);
     methodTree = tree;
     constraintManager = new ConstraintManager();
-    workList = new LinkedList<>();
+    workList = statistics.strategy().newWorkList(cfg);
     // Linked hashSet is required to guarantee order of yields to be generated
     endOfExecutionPath = new LinkedHashSet<>();
     programState = ProgramState.EMPTY_STATE;
     steps = 0;
+    boolean completed = false;
+    try {
+      explore(tree, cfg);
+      completed = true;
+    } finally {
+      statistics.methodExecuted(completed, steps);
+    }
+
+    handleEndOfExecutionPath(false);
+    PerformanceMeasure.Duration endOfExecutionDuration = PerformanceMeasure.start("EndOfExecution");
+    checkerDispatcher.executeCheckEndOfExecution();
+    endOfExecutionDuration.stop();
+    // Cleanup:
+    explodedGraph = null;
+    methodExecution = null;
+    workList = null;
+    node = null;
+    programState = null;
+    constraintManager = null;
+
+    if (methodBehavior != null){
+      methodBehavior.completed();
+    }
+  }
+
+  private void explore(MethodTree tree, CFG cfg) {
     enqueueStartingStates(tree, cfg);
     while (!workList.isEmpty()) {
       steps++;
       throwExceptionIfMaxStepsHasBeenReached(tree);
-      // LIFO:
-      setNode(workList.removeFirst());
+      throwExceptionIfBudgetIsExceeded(tree);
+      setNode(workList.removeNext());
       CFG.Block block = (CFG.Block) programPosition.block;
       if (block.successors().isEmpty()) {
         endOfExecutionPath.add(node);
@@ -283,20 +327,6 @@ public class ExplodedGraphWalker {
         throwTooManyTransitiveRelationsException(tree, e);
       }
     }
-
-    handleEndOfExecutionPath(false);
-    PerformanceMeasure.Duration endOfExecutionDuration = PerformanceMeasure.start("EndOfExecution");
-    checkerDispatcher.executeCheckEndOfExecution();
-    endOfExecutionDuration.stop();
-    // Cleanup:
-    workList = null;
-    node = null;
-    programState = null;
-    constraintManager = null;
-
-    if (methodBehavior != null){
-      methodBehavior.completed();
-    }
   }
 
   private void enqueueStartingStates(MethodTree tree, CFG cfg) {
@@ -331,6 +361,19 @@ public class ExplodedGraphWalker {
     }
   }
 
+  private void throwExceptionIfBudgetIsExceeded(MethodTree tree) {
+    String exceededBudget = methodExecution.exceededBudget(steps);
+    if (exceededBudget != null) {
+      String method = String.format("%s#%d in class %s", tree.simpleName().name(), LineUtils.startLine(tree.simpleName()), tree.symbol().owner().name());
+      PerformanceMeasure.start("ExecutionBudgetExceeded").stop();
+      statistics.budgetExceeded(method);
+      ExecutionBudgetExceededException cause = new ExecutionBudgetExceededException(String.format("reached %s after %d steps for method %s",
+        exceededBudget, steps, method));
+      interrupted(cause);
+      throw cause;
+    }
+  }
+
   private void interrupted(Exception cause) {
     handleEndOfExecutionPath(true);
     checkerDispatcher.interruptedExecution(cause);
@@ -425,6 +468,20 @@ public class ExplodedGraphWalker {
     }
   }
 
+  /**
+   * The variables live at the exit of a block are the variables live at the entry of any of its successors: a variable which is
+   * only live in one branch is dropped when entering the other ones, so that states differing only by this variable are merged.
+   */
+  private ProgramState cleanUpOnBlockEntry(ProgramPoint programPoint, ProgramState programState) {
+    CFG.Block block = (CFG.Block) programPoint.block;
+    if (!cleanup || node == null || programPoint.i != 0 || block == exitBlock) {
+      return programState;
+    }
+    Collection<SymbolicValue> protectedSVs = methodBehavior == null ? Collections.emptyList() : methodBehavior.parameters();
+    ProgramState cleanedState = programState.cleanupDeadSymbols(liveVariables.getIn(block), protectedSVs);
+    return cleanedState == programState ? programState : cleanedState.cleanupConstraints(protectedSVs);
+  }
+
   private void handleBlockExit(ProgramPoint programPosition) {
     CFG.Block block = (CFG.Block) programPosition.block;
     Tree terminator = block.terminator();
@@ -1269,7 +1326,10 @@ public class ExplodedGraphWalker {
       }
     }
     checkExplodedGraphTooBig(programState);
-    ProgramState ps = programState.visitedPoint(programPoint, nbOfExecution + 1);
+    ProgramState ps = cleanUpOnBlockEntry(programPoint, programState).visitedPoint(programPoint, nbOfExecution + 1);
+    if (statistics.strategy().subsumption() && isSubsumed(programPoint, ps, exitPath, methodYield)) {
+      return;
+    }
     ExplodedGraph.Node cachedNode = explodedGraph.node(programPoint, ps);
     if (!cachedNode.isNew() && exitPath == cachedNode.exitPath) {
       // has been enqueued earlier
@@ -1278,7 +1338,22 @@ public class ExplodedGraphWalker {
     }
     cachedNode.exitPath = exitPath;
     cachedNode.addParent(node, methodYield);
-    workList.addFirst(cachedNode);
+    workList.add(cachedNode);
+  }
+
+  /**
+   * A state subsumed by the state of an already created node of the same program point is not explored again: the node of the
+   * subsuming state becomes a child of the current node.
+   */
+  private boolean isSubsumed(ProgramPoint programPoint, ProgramState programState, boolean exitPath, @Nullable MethodYield methodYield) {
+    for (ExplodedGraph.Node existingNode : explodedGraph.nodes(programPoint)) {
+      if (existingNode.exitPath == exitPath && !existingNode.programState.equals(programState) && existingNode.programState.subsumes(programState)) {
+        existingNode.addParent(node, methodYield);
+        statistics.stateSubsumed();
+        return true;
+      }
+    }
+    return false;
   }
 
   private static boolean isRestartingForEachLoop(ProgramPoint programPoint) {
@@ -1312,8 +1387,17 @@ public class ExplodedGraphWalker {
 
     @VisibleForTesting
     final List<SECheck> seChecks = new ArrayList<>();
+    private final ExplorationStatistics statistics;
 
     public ExplodedGraphWalkerFactory(List<SECheck> activeSEChecks) {
+      this(activeSEChecks, new ExplorationStatistics(ExplorationStrategy.DEPTH_FIRST));
+    }
+
+    /**
+     * @param statistics of the walkers to create, whose strategy is used to explore the exploded graphs
+     */
+    public ExplodedGraphWalkerFactory(List<SECheck> activeSEChecks, ExplorationStatistics statistics) {
+      this.statistics = statistics;
       List<SECheck> checks = new ArrayList<>(activeSEChecks);
 
       // This order of the mandatory SE checks is required by the ExplodedGraphWalker
@@ -1331,7 +1415,18 @@ public class ExplodedGraphWalker {
     }
 
     public ExplodedGraphWalker createWalker(BehaviorCache behaviorCache, JavaFileScannerContext context) {
-      return new ExplodedGraphWalker(seChecks, behaviorCache, context);
+      return createWalker(behaviorCache, context, ExecutionBudget.UNLIMITED.startFile());
+    }
+
+    /**
+     * @param fileExecution budget of the file whose methods are executed by the walker
+     */
+    public ExplodedGraphWalker createWalker(BehaviorCache behaviorCache, JavaFileScannerContext context, ExecutionBudget.FileExecution fileExecution) {
+      return new ExplodedGraphWalker(seChecks, behaviorCache, context, statistics, fileExecution);
+    }
+
+    public ExplorationStatistics statistics() {
+      return statistics;
     }
 
     @SuppressWarnings("unchecked")
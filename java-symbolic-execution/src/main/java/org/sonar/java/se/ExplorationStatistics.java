@@ -0,0 +1,111 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of methods whose symbolic execution could be completed or was interrupted by the limits of the
+ * {@link ExplodedGraphWalker}, and number of steps spent, to compare the {@link ExplorationStrategy exploration strategies}.
+ * The methods interrupted because of their {@link ExecutionBudget} are also recorded.
+ * Shared by the walkers of all the analysis threads.
+ */
+public final class ExplorationStatistics {
+
+  private static final int MAX_RECORDED_METHOD_NAMES = 10;
+
+  private final ExplorationStrategy strategy;
+  private final LongAdder completedMethods = new LongAdder();
+  private final LongAdder interruptedMethods = new LongAdder();
+  private final LongAdder steps = new LongAdder();
+  private final LongAdder subsumedStates = new LongAdder();
+  private final LongAdder budgetExceededMethods = new LongAdder();
+  private final Queue<String> budgetExceededMethodNames = new ConcurrentLinkedQueue<>();
+  /**
+   * Number of places reserved in {@link #budgetExceededMethodNames}, so that concurrent walkers never record more than the maximum
+   */
+  private final AtomicInteger reservedMethodNames = new AtomicInteger();
+
+  public ExplorationStatistics(ExplorationStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  public ExplorationStrategy strategy() {
+    return strategy;
+  }
+
+  void methodExecuted(boolean completed, int methodSteps) {
+    if (completed) {
+      completedMethods.increment();
+    } else {
+      interruptedMethods.increment();
+    }
+    steps.add(methodSteps);
+  }
+
+  void stateSubsumed() {
+    subsumedStates.increment();
+  }
+
+  void budgetExceeded(String method) {
+    budgetExceededMethods.increment();
+    if (reservedMethodNames.get() < MAX_RECORDED_METHOD_NAMES
+      && reservedMethodNames.getAndIncrement() < MAX_RECORDED_METHOD_NAMES) {
+      budgetExceededMethodNames.add(method);
+    }
+  }
+
+  public long completedMethods() {
+    return completedMethods.sum();
+  }
+
+  public long interruptedMethods() {
+    return interruptedMethods.sum();
+  }
+
+  public long steps() {
+    return steps.sum();
+  }
+
+  public long subsumedStates() {
+    return subsumedStates.sum();
+  }
+
+  public long budgetExceededMethods() {
+    return budgetExceededMethods.sum();
+  }
+
+  /**
+   * @return the first methods interrupted because of their execution budget, at most 10 of them
+   */
+  public List<String> budgetExceededMethodNames() {
+    return List.copyOf(budgetExceededMethodNames);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s exploration: %d completed methods, %d interrupted methods (%d by budget), %d steps, %d subsumed states",
+      strategy, completedMethods(), interruptedMethods(), budgetExceededMethods(), steps(), subsumedStates());
+  }
+}
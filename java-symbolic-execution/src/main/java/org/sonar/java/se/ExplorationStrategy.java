@@ -0,0 +1,67 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import org.sonar.java.cfg.CFG;
+
+/**
+ * Order in which the {@link ExplodedGraphWalker} explores the nodes of the exploded graph, and whether it drops the states which
+ * are less general than an already explored state.
+ */
+public enum ExplorationStrategy {
+
+  /**
+   * The last enqueued node is explored first: each path is followed until its end before exploring the next one.
+   */
+  DEPTH_FIRST(false),
+
+  /**
+   * Nodes are explored in the reverse postorder of their block in the CFG, the last enqueued node being explored first among the
+   * nodes of the same program point: the paths reaching a block are all explored before exploring its successors.
+   */
+  REVERSE_POSTORDER(false),
+
+  /**
+   * Same order as {@link #REVERSE_POSTORDER}, but a new state is dropped when an explored state of the same program point subsumes it.
+   * More methods can be completed within the limits of the walker, but the issues which would only be raised on the dropped
+   * states are lost: a check relying on a constraint which only the dropped state has, like a value known to be null, does not
+   * raise its issue on the more general state. This strategy can therefore miss true positives raised with the other strategies.
+   *
+   * @see ProgramState#subsumes(ProgramState)
+   */
+  REVERSE_POSTORDER_WITH_SUBSUMPTION(true);
+
+  private final boolean subsumption;
+
+  ExplorationStrategy(boolean subsumption) {
+    this.subsumption = subsumption;
+  }
+
+  boolean subsumption() {
+    return subsumption;
+  }
+
+  WorkList newWorkList(CFG cfg) {
+    if (this == DEPTH_FIRST) {
+      return WorkList.depthFirst();
+    }
+    return WorkList.reversePostorder(cfg);
+  }
+}
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -87,7 +88,6 @@ public class FlowComputation {
     Tree.Kind.DIVIDE_ASSIGNMENT,
     Tree.Kind.REMAINDER_ASSIGNMENT);
 
-  private static final int MAX_FLOW_STEPS = 3_000_000;
   public static final int FIRST_FLOW = 1;
   public static final int MAX_REPORTED_FLOWS = 20;
   public static final int MAX_LOOKUP_FLOWS = 500_000;
@@ -98,6 +98,11 @@ public class FlowComputation {
   private final List<Class<? extends Constraint>> domains;
   private final boolean skipExceptionMessages;
   private final int maxReturnedFlows;
+  /**
+   * The same edge is usually reached by many execution paths: what only depends on the edge is computed once.
+   */
+  private final Map<ExplodedGraph.Edge, Set<LearnedConstraint>> learnedConstraintsByEdge = new IdentityHashMap<>();
+  private final Map<ExplodedGraph.Edge, List<JavaFileScannerContext.Location>> exceptionLocationsByEdge = new IdentityHashMap<>();
 
   private FlowComputation(Set<SymbolicValue> symbolicValues, Predicate<Constraint> addToFlow,
                           Predicate<Constraint> terminateTraversal, List<Class<? extends Constraint>> domains,
@@ -179,9 +184,13 @@ public class FlowComputation {
     Deque<ExecutionPath> workList = new ArrayDeque<>();
     SameConstraints sameConstraints = new SameConstraints(node, trackedSymbols, domains);
     node.edges().stream().flatMap(e -> startPath(e, trackedSymbols, sameConstraints)).forEach(workList::push);
-    int flowSteps = 0;
+    ExecutionBudget.MethodExecution methodExecution = node.methodExecution();
     Set<ExecutionPath> visited = new HashSet<>(workList);
     while (!workList.isEmpty()) {
+      if (!methodExecution.consumeFlowStep()) {
+        LOG.debug("Flow was not able to complete");
+        break;
+      }
       ExecutionPath path = workList.pop();
       if (path.finished) {
         flows.add(path.flow);
@@ -198,11 +207,6 @@ public class FlowComputation {
             }
           });
       }
-      flowSteps++;
-      if(flowSteps == MAX_FLOW_STEPS) {
-        LOG.debug("Flow was not able to complete");
-        break;
-      }
     }
     return flows;
   }
@@ -322,14 +326,11 @@ public class FlowComputation {
       SameConstraints newSameConstraints = newTrackSymbols == trackedSymbols ? sameConstraints : new SameConstraints(sameConstraints, newTrackSymbols);
 
       if (!skipExceptionMessages) {
-        flowFromThrownException(edge).ifPresent(loc -> {
-          flowBuilder.setAsExceptional();
-          flowBuilder.add(loc);
-        });
-        flowFromCaughtException(edge).ifPresent(loc -> {
+        List<JavaFileScannerContext.Location> exceptionLocations = exceptionLocationsByEdge.computeIfAbsent(edge, this::exceptionLocations);
+        if (!exceptionLocations.isEmpty()) {
           flowBuilder.setAsExceptional();
-          flowBuilder.add(loc);
-        });
+          exceptionLocations.forEach(flowBuilder::add);
+        }
       }
 
       Set<LearnedConstraint> learnedConstraints = learnedConstraints(edge);
@@ -352,6 +353,13 @@ public class FlowComputation {
         .map(f -> new ExecutionPath(edge, visited.add(edge), newTrackSymbols, newSameConstraints, f, endOfPath));
     }
 
+    private List<JavaFileScannerContext.Location> exceptionLocations(ExplodedGraph.Edge edge) {
+      List<JavaFileScannerContext.Location> locations = new ArrayList<>(2);
+      flowFromThrownException(edge).ifPresent(locations::add);
+      flowFromCaughtException(edge).ifPresent(locations::add);
+      return locations.isEmpty() ? Collections.emptyList() : locations;
+    }
+
     private Optional<JavaFileScannerContext.Location> flowFromThrownException(ExplodedGraph.Edge edge) {
       SymbolicValue exception = edge.child.programState.getEntryException();
       if (exception == null) {
@@ -579,6 +587,10 @@ public class FlowComputation {
     }
 
     Set<LearnedConstraint> learnedConstraints(ExplodedGraph.Edge edge) {
+      return learnedConstraintsByEdge.computeIfAbsent(edge, this::computeLearnedConstraints);
+    }
+
+    private Set<LearnedConstraint> computeLearnedConstraints(ExplodedGraph.Edge edge) {
       Set<LearnedConstraint> learnedConstraints = edge.learnedConstraints();
       Set<LearnedConstraint> lcByDomain = new HashSet<>();
       // guarantee that we will keep the same domain order when reporting
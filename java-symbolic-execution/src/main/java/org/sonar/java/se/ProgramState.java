@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -109,7 +110,8 @@ public class ProgramState {
 
     @Override
     public int hashCode() {
-      return Objects.hash(sv);
+      // same value as Objects.hash(sv), without allocating an array on every hash of the stack
+      return 31 + Objects.hashCode(sv);
     }
 
     @Override
@@ -274,16 +276,42 @@ public class ProgramState {
       return false;
     }
     ProgramState that = (ProgramState) o;
+    if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+      return false;
+    }
     return Objects.equals(values, that.values) &&
       Objects.equals(constraints, that.constraints) &&
       Objects.equals(exitSymbolicValue, that.exitSymbolicValue) &&
       Objects.equals(stack, that.stack);
   }
 
+  /**
+   * A state subsumes another state when both bind the same symbols to the same symbolic values with the same stack, and every
+   * constraint of this state is also a constraint of the other state: this state is at least as general as the other one.
+   */
+  public boolean subsumes(ProgramState other) {
+    if (this.equals(other)) {
+      return true;
+    }
+    if (!Objects.equals(values, other.values)
+      || !Objects.equals(exitSymbolicValue, other.exitSymbolicValue)
+      || !Objects.equals(stack, other.stack)) {
+      return false;
+    }
+    for (Map.Entry<SymbolicValue, ConstraintsByDomain> entry : constraints.entries()) {
+      ConstraintsByDomain otherConstraints = other.constraints.get(entry.getKey());
+      if (otherConstraints == null || !entry.getValue().stream().allMatch(otherConstraints::hasConstraint)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public int hashCode() {
     if (hashCode == 0) {
-      hashCode = Objects.hash(values, constraints, peekValue());
+      // same value as Objects.hash(values, constraints, peekValue()), without allocating an array
+      hashCode = (31 * (31 + values.hashCode()) + constraints.hashCode()) * 31 + Objects.hashCode(peekValue());
     }
     return hashCode;
   }
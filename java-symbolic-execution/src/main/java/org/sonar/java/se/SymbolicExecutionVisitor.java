@@ -21,8 +21,10 @@ package org.sonar.java.se;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.java.annotations.VisibleForTesting;
@@ -31,28 +33,118 @@ import org.sonar.java.model.JUtils;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.java.se.xproc.BehaviorCache;
 import org.sonar.java.se.xproc.MethodBehavior;
+import org.sonar.java.se.xproc.MethodBehaviorStore;
+import org.sonar.plugins.java.api.InputFileScannerContext;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.ModuleScannerContext;
+import org.sonar.plugins.java.api.internal.DelegatingVisitor;
+import org.sonar.plugins.java.api.internal.EndOfAnalysis;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public class SymbolicExecutionVisitor extends SubscriptionVisitor {
+public class SymbolicExecutionVisitor extends SubscriptionVisitor implements DelegatingVisitor, EndOfAnalysis {
   private static final Logger LOG = LoggerFactory.getLogger(SymbolicExecutionVisitor.class);
 
   @VisibleForTesting
   public final BehaviorCache behaviorCache;
   private final ExplodedGraphWalker.ExplodedGraphWalkerFactory egwFactory;
+  private final List<SECheck> seChecks;
+  private final MethodBehaviorStore behaviorStore;
+  private final ExplorationStatistics statistics;
+  private final ExecutionBudget budget;
+  private ExecutionBudget.FileExecution fileExecution;
+  /**
+   * Signatures of the methods of the current file which can be called from other files and cannot be overridden
+   */
+  private final List<String> exportedSignatures = new ArrayList<>();
 
   public SymbolicExecutionVisitor(List<SECheck> seChecks) {
-    egwFactory = new ExplodedGraphWalker.ExplodedGraphWalkerFactory(seChecks);
-    this.behaviorCache = new BehaviorCache();
+    this(seChecks, ExplorationStrategy.DEPTH_FIRST);
+  }
+
+  public SymbolicExecutionVisitor(List<SECheck> seChecks, ExplorationStrategy explorationStrategy) {
+    this(seChecks, explorationStrategy, ExecutionBudget.UNLIMITED);
+  }
+
+  /**
+   * @param budget time and memory which can be spent on each method and on each file
+   */
+  public SymbolicExecutionVisitor(List<SECheck> seChecks, ExecutionBudget budget) {
+    this(seChecks, ExplorationStrategy.DEPTH_FIRST, budget);
+  }
+
+  /**
+   * @param explorationStrategy order in which the paths of each method are explored
+   * @param budget time and memory which can be spent on each method and on each file
+   */
+  public SymbolicExecutionVisitor(List<SECheck> seChecks, ExplorationStrategy explorationStrategy, ExecutionBudget budget) {
+    this(seChecks, new MethodBehaviorStore(), new ExplorationStatistics(explorationStrategy), budget);
+  }
+
+  private SymbolicExecutionVisitor(List<SECheck> seChecks, MethodBehaviorStore behaviorStore, ExplorationStatistics statistics, ExecutionBudget budget) {
+    this.seChecks = seChecks;
+    egwFactory = new ExplodedGraphWalker.ExplodedGraphWalkerFactory(seChecks, statistics);
+    this.behaviorStore = behaviorStore;
+    this.statistics = statistics;
+    this.budget = budget;
+    this.fileExecution = budget.startFile();
+    this.behaviorCache = new BehaviorCache(behaviorStore);
   }
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     behaviorCache.cleanup();
     behaviorCache.setFileContext(this);
+    exportedSignatures.clear();
+    fileExecution = budget.startFile();
     super.scanFile(context);
+    List<MethodBehavior> exportedBehaviors = exportedSignatures.stream()
+      .map(behaviorCache.behaviors::get)
+      .filter(Objects::nonNull)
+      .filter(MethodBehavior::isComplete)
+      .toList();
+    behaviorStore.save(context, exportedBehaviors);
+  }
+
+  /**
+   * Unchanged files are not executed again: the behaviors of their methods are read from the previous analysis. When they
+   * cannot be read, the other files are analyzed without them, which does not prevent skipping the file.
+   */
+  @Override
+  public boolean scanWithoutParsing(InputFileScannerContext inputFileScannerContext) {
+    behaviorStore.loadFromPreviousAnalysis(inputFileScannerContext);
+    return true;
+  }
+
+  @Override
+  public List<SECheck> delegates() {
+    return seChecks;
+  }
+
+  /**
+   * The symbolic execution of the files analyzed by another thread relies on its own instances of the checks, and on its own
+   * cache of method behaviors. The behaviors read from the previous analysis, the statistics and the budget are shared.
+   */
+  @Override
+  public JavaCheck createInstance(List<JavaCheck> delegates) {
+    return new SymbolicExecutionVisitor(delegates.stream().map(SECheck.class::cast).toList(), behaviorStore, statistics, budget);
+  }
+
+  @Override
+  public void endOfAnalysis(ModuleScannerContext context) {
+    LOG.debug("[SE] {}", statistics);
+    long budgetExceededMethods = statistics.budgetExceededMethods();
+    if (budgetExceededMethods > 0) {
+      LOG.info("Symbolic execution of {} methods was interrupted by its budget ({}), including: {}", budgetExceededMethods, budget,
+        String.join(", ", statistics.budgetExceededMethodNames()));
+    }
+  }
+
+  @VisibleForTesting
+  ExplorationStatistics statistics() {
+    return statistics;
   }
 
   @Override
@@ -62,7 +154,12 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
 
   @Override
   public void visitNode(Tree tree) {
-    execute((MethodTree) tree);
+    MethodTree methodTree = (MethodTree) tree;
+    execute(methodTree);
+    Symbol.MethodSymbol methodSymbol = methodTree.symbol();
+    if (!methodSymbol.isPrivate() && methodCanNotBeOverriden(methodSymbol)) {
+      exportedSignatures.add(methodSymbol.signature());
+    }
   }
 
   public void execute(MethodTree methodTree) {
@@ -94,7 +191,7 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
 
   @VisibleForTesting
   protected ExplodedGraphWalker getWalker() {
-    return egwFactory.createWalker(behaviorCache, context);
+    return egwFactory.createWalker(behaviorCache, context, fileExecution);
   }
 
   public static boolean methodCanNotBeOverriden(Symbol.MethodSymbol methodSymbol) {
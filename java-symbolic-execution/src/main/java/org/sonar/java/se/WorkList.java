@@ -0,0 +1,191 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import org.sonar.java.cfg.CFG;
+
+/**
+ * Nodes of the exploded graph waiting to be explored, in the order given by the {@link ExplorationStrategy}.
+ */
+abstract class WorkList implements Iterable<ExplodedGraph.Node> {
+
+  abstract void add(ExplodedGraph.Node node);
+
+  /**
+   * Removes and returns the next node to explore.
+   */
+  abstract ExplodedGraph.Node removeNext();
+
+  /**
+   * @return the next node to explore, without removing it, or null if there is no node to explore
+   */
+  @CheckForNull
+  abstract ExplodedGraph.Node peekNext();
+
+  abstract int size();
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  static WorkList depthFirst() {
+    return new DepthFirst();
+  }
+
+  static WorkList reversePostorder(CFG cfg) {
+    return new Prioritized(reversePostorderIndexes(cfg));
+  }
+
+  /**
+   * @return the index of each block reachable from the entry block, in the reverse postorder of the CFG
+   */
+  static Map<Integer, Integer> reversePostorderIndexes(CFG cfg) {
+    Deque<CFG.Block> postorder = new ArrayDeque<>();
+    Set<CFG.Block> visited = new HashSet<>();
+    Deque<Iterator<CFG.Block>> successorsStack = new ArrayDeque<>();
+    Deque<CFG.Block> blocksStack = new ArrayDeque<>();
+    CFG.Block entryBlock = cfg.entryBlock();
+    visited.add(entryBlock);
+    blocksStack.push(entryBlock);
+    successorsStack.push(successors(entryBlock));
+    while (!blocksStack.isEmpty()) {
+      Iterator<CFG.Block> successors = successorsStack.peek();
+      if (successors.hasNext()) {
+        CFG.Block successor = successors.next();
+        if (visited.add(successor)) {
+          blocksStack.push(successor);
+          successorsStack.push(successors(successor));
+        }
+      } else {
+        successorsStack.pop();
+        // pushed first in postorder, so iterating from the top gives the reverse postorder
+        postorder.push(blocksStack.pop());
+      }
+    }
+    Map<Integer, Integer> indexes = new HashMap<>();
+    for (CFG.Block block : postorder) {
+      indexes.put(block.id(), indexes.size());
+    }
+    return indexes;
+  }
+
+  private static Iterator<CFG.Block> successors(CFG.Block block) {
+    Set<CFG.Block> successors = new LinkedHashSet<>(block.successors());
+    successors.addAll(block.exceptions());
+    return successors.iterator();
+  }
+
+  private static class DepthFirst extends WorkList {
+
+    private final Deque<ExplodedGraph.Node> nodes = new ArrayDeque<>();
+
+    @Override
+    void add(ExplodedGraph.Node node) {
+      nodes.addFirst(node);
+    }
+
+    @Override
+    ExplodedGraph.Node removeNext() {
+      return nodes.removeFirst();
+    }
+
+    @Override
+    ExplodedGraph.Node peekNext() {
+      return nodes.peekFirst();
+    }
+
+    @Override
+    int size() {
+      return nodes.size();
+    }
+
+    @Override
+    public Iterator<ExplodedGraph.Node> iterator() {
+      return nodes.iterator();
+    }
+  }
+
+  private static class Prioritized extends WorkList {
+
+    private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(entry -> entry.blockIndex)
+      .thenComparingInt(entry -> entry.node.programPoint.i)
+      // last enqueued first
+      .thenComparing(Comparator.<Entry>comparingLong(entry -> entry.sequence).reversed());
+
+    private final Map<Integer, Integer> blockIndexes;
+    private final PriorityQueue<Entry> entries = new PriorityQueue<>(ORDER);
+    private long sequence = 0;
+
+    private Prioritized(Map<Integer, Integer> blockIndexes) {
+      this.blockIndexes = blockIndexes;
+    }
+
+    @Override
+    void add(ExplodedGraph.Node node) {
+      // blocks not reachable from the entry block, through a normal or exceptional successor, are explored last
+      int blockIndex = blockIndexes.getOrDefault(node.programPoint.block.id(), Integer.MAX_VALUE);
+      entries.add(new Entry(node, blockIndex, sequence++));
+    }
+
+    @Override
+    ExplodedGraph.Node removeNext() {
+      return entries.remove().node;
+    }
+
+    @Override
+    ExplodedGraph.Node peekNext() {
+      Entry next = entries.peek();
+      return next == null ? null : next.node;
+    }
+
+    @Override
+    int size() {
+      return entries.size();
+    }
+
+    @Override
+    public Iterator<ExplodedGraph.Node> iterator() {
+      return entries.stream().map(entry -> entry.node).iterator();
+    }
+
+    private static class Entry {
+      private final ExplodedGraph.Node node;
+      private final int blockIndex;
+      private final long sequence;
+
+      private Entry(ExplodedGraph.Node node, int blockIndex, long sequence) {
+        this.node = node;
+        this.blockIndex = blockIndex;
+        this.sequence = sequence;
+      }
+    }
+  }
+}
@@ -27,6 +27,7 @@ import org.sonar.java.se.checks.XxeProcessingCheck.XmlSetXIncludeAware;
 import org.sonar.java.se.checks.XxeProperty.FeatureXInclude;
 import org.sonar.java.se.constraint.Constraint;
 import org.sonar.java.se.constraint.ConstraintsByDomain;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 
 import static org.sonar.java.se.checks.XxeProcessingCheck.PARSING_METHODS;
@@ -38,6 +39,7 @@ import static org.sonar.java.se.checks.XxeProcessingCheck.PARSING_METHODS;
  * @see org.sonar.java.se.checks.XxeProcessingCheck
  */
 @Rule(key = "S6373")
+@Stateless
 public class AllowXMLInclusionCheck extends AbstractXMLProcessing {
 
   private static final List<Class<? extends Constraint>> DOMAINS = Arrays.asList(FeatureXInclude.class, XmlSetXIncludeAware.class);
@@ -26,9 +26,11 @@ import org.sonar.java.se.AlwaysTrueOrFalseExpressionCollector;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.Flow;
 import org.sonar.java.se.FlowComputation;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.tree.Tree;
 
 @Rule(key = "S2589")
+@Stateless
 public class BooleanGratuitousExpressionsCheck extends SECheck {
 
   @Override
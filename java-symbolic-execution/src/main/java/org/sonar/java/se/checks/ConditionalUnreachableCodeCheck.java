@@ -24,12 +24,14 @@ import org.sonar.java.se.AlwaysTrueOrFalseExpressionCollector;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.Flow;
 import org.sonar.java.se.FlowComputation;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Rule(key = "S2583")
+@Stateless
 public class ConditionalUnreachableCodeCheck extends SECheck {
 
   public static final String MESSAGE = "Change this condition so that it does not always evaluate to \"%s\"";
@@ -26,6 +26,7 @@ import org.sonar.check.Rule;
 import org.sonar.java.se.checks.XxeProperty.FeatureSecureProcessing;
 import org.sonar.java.se.constraint.Constraint;
 import org.sonar.java.se.constraint.ConstraintsByDomain;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 
 import static org.sonar.java.se.checks.XxeProcessingCheck.NEW_DOCUMENT_BUILDER;
@@ -38,6 +39,7 @@ import static org.sonar.java.se.checks.XxeProcessingCheck.PARSING_METHODS;
  * @see org.sonar.java.se.checks.XxeProcessingCheck
  */
 @Rule(key = "S6376")
+@Stateless
 public class DenialOfServiceXMLCheck extends AbstractXMLProcessing {
 
   private static final List<Class<? extends Constraint>> DOMAINS = Collections.singletonList(FeatureSecureProcessing.class);
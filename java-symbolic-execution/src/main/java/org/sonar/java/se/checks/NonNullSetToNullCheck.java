@@ -35,6 +35,7 @@ import org.sonar.java.se.constraint.ConstraintManager;
 import org.sonar.java.se.constraint.ObjectConstraint;
 import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityLevel;
@@ -59,6 +60,7 @@ import static org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityLeve
 import static org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityLevel.VARIABLE;
 
 @Rule(key = "S2637")
+@Stateless
 public class NonNullSetToNullCheck extends SECheck {
 
   private static final String[] JPA_ANNOTATIONS = {
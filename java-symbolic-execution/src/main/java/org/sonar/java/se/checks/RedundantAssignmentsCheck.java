@@ -33,6 +33,7 @@ import javax.annotation.Nullable;
 import org.sonar.check.Rule;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.collections.CollectionUtils;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonarsource.analyzer.commons.collections.SetUtils;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.ExplodedGraph;
@@ -48,6 +49,7 @@ import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 @Rule(key = "S4165")
+@Stateless
 public class RedundantAssignmentsCheck extends SECheck {
 
   private static final Set<String> STREAM_TYPES = SetUtils.immutableSetOf(
@@ -27,9 +27,11 @@ import org.sonar.java.se.constraint.ConstraintManager;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -37,6 +39,10 @@ import java.util.stream.Collectors;
 
 public abstract class SECheck implements JavaFileScanner {
 
+  private static final Comparator<SEIssue> ISSUES_ORDER = Comparator.comparing(
+    seIssue -> seIssue.getTree().firstToken(),
+    Comparator.nullsFirst(Comparator.comparing((SyntaxToken token) -> token.range().start())));
+
   protected Set<SEIssue> issues = new HashSet<>();
 
   public void init(MethodTree methodTree, CFG cfg) {
@@ -61,7 +67,11 @@ public abstract class SECheck implements JavaFileScanner {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
-    for (SEIssue seIssue : issues) {
+    // issues are reported in the order of the file, whatever the order in which they have been found
+    List<SEIssue> sortedIssues = issues.stream()
+      .sorted(ISSUES_ORDER)
+      .toList();
+    for (SEIssue seIssue : sortedIssues) {
       context.reportIssueWithFlow(this, seIssue.getTree(), seIssue.getMessage(), seIssue.getFlows(), null);
     }
     issues.clear();
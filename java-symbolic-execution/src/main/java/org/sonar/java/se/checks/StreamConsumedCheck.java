@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonarsource.analyzer.commons.collections.ListUtils;
 import org.sonarsource.analyzer.commons.collections.SetUtils;
 import org.sonar.java.se.CheckerContext;
@@ -49,6 +50,7 @@ import org.sonar.plugins.java.api.tree.Tree;
  * Note that {@link StreamNotConsumedCheck} is implemented by using constraints set by this check
  */
 @Rule(key = "S3959")
+@Stateless
 public class StreamConsumedCheck extends SECheck {
 
   public enum StreamPipelineConstraint implements Constraint {
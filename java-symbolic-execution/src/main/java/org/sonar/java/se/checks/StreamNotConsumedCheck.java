@@ -31,6 +31,7 @@ import org.sonar.plugins.java.api.JavaFileScannerContext;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import org.sonar.plugins.java.api.internal.Stateless;
 
 import static org.sonar.java.se.checks.StreamConsumedCheck.StreamPipelineConstraint.NOT_CONSUMED;
 
@@ -38,6 +39,7 @@ import static org.sonar.java.se.checks.StreamConsumedCheck.StreamPipelineConstra
  * This check is used just to report issues. Most of the check logic is implemented in {@link StreamConsumedCheck}
  */
 @Rule(key = "S3958")
+@Stateless
 public class StreamNotConsumedCheck extends SECheck {
 
   @Override
@@ -53,6 +55,10 @@ public class StreamNotConsumedCheck extends SECheck {
         NOT_CONSUMED::equals, NOT_CONSUMED::equals,
         Collections.singletonList(StreamConsumedCheck.StreamPipelineConstraint.class),
         Collections.emptySet(), FlowComputation.FIRST_FLOW);
+      if (flows.isEmpty()) {
+        // the flow computations of the method took all their steps
+        return;
+      }
       Flow flow = flows.iterator().next();
       var elements = flow.elements();
       JavaFileScannerContext.Location location = elements.get(elements.size() - 1);
@@ -33,6 +33,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.cfg.CFG;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonarsource.analyzer.commons.collections.ListUtils;
 import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.se.CheckerContext;
@@ -68,6 +69,7 @@ import static org.sonar.java.se.checks.UnclosedResourcesCheck.ResourceConstraint
 
 
 @Rule(key = "S2095")
+@Stateless
 public class UnclosedResourcesCheck extends SECheck {
 
   private static final List<Class<? extends Constraint>> RESOURCE_CONSTRAINT_DOMAIN = Collections.singletonList(ResourceConstraint.class);
@@ -28,11 +28,13 @@ import org.sonar.java.se.checks.XxeProcessingCheck.XxeEntityResolver;
 import org.sonar.java.se.checks.XxeProperty.FeatureLoadExternalDtd;
 import org.sonar.java.se.constraint.Constraint;
 import org.sonar.java.se.constraint.ConstraintsByDomain;
+import org.sonar.plugins.java.api.internal.Stateless;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 
 import static org.sonar.java.se.checks.XxeProcessingCheck.PARSING_METHODS;
 
 @Rule(key = "S6374")
+@Stateless
 public class XmlParserLoadsExternalSchemasCheck extends AbstractXMLProcessing {
 
   private static final List<Class<? extends Constraint>> DOMAINS = Arrays.asList(
@@ -19,6 +19,8 @@
  */
 package org.sonar.java.se.constraint;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -26,14 +28,34 @@ import javax.annotation.Nullable;
 import org.sonarsource.analyzer.commons.collections.PCollections;
 import org.sonarsource.analyzer.commons.collections.PMap;
 
+/**
+ * Constraints of a symbolic value, by domain. Sets made only of enum constraints, which are the vast majority, are interned: equal
+ * instances are the same object. Other constraints, like {@link TypedConstraint}, can take an unbounded number of values and are
+ * never interned.
+ */
 public class ConstraintsByDomain {
 
+  private static final Map<PMap<Class<? extends Constraint>, Constraint>, ConstraintsByDomain> INTERNED = new ConcurrentHashMap<>();
+
   private final PMap<Class<? extends Constraint>, Constraint> constraintPMap;
+  private final boolean interned;
+  private final int hashCode;
 
-  private static final ConstraintsByDomain EMPTY = new ConstraintsByDomain(PCollections.emptyMap());
+  private static final ConstraintsByDomain EMPTY = of(PCollections.emptyMap());
 
-  private ConstraintsByDomain(PMap<Class<? extends Constraint>, Constraint> constraintPMap) {
+  private ConstraintsByDomain(PMap<Class<? extends Constraint>, Constraint> constraintPMap, boolean interned) {
     this.constraintPMap = constraintPMap;
+    this.interned = interned;
+    this.hashCode = constraintPMap.hashCode();
+  }
+
+  private static ConstraintsByDomain of(PMap<Class<? extends Constraint>, Constraint> constraintPMap) {
+    boolean[] onlyEnums = {true};
+    constraintPMap.forEach((domain, constraint) -> onlyEnums[0] &= constraint instanceof Enum);
+    if (!onlyEnums[0]) {
+      return new ConstraintsByDomain(constraintPMap, false);
+    }
+    return INTERNED.computeIfAbsent(constraintPMap, map -> new ConstraintsByDomain(map, true));
   }
 
   public static ConstraintsByDomain empty() {
@@ -45,7 +67,7 @@ public class ConstraintsByDomain {
     if (remove == constraintPMap) {
       return this;
     }
-    return remove.isEmpty() ? EMPTY : new ConstraintsByDomain(remove);
+    return remove.isEmpty() ? EMPTY : of(remove);
   }
 
   @Nullable
@@ -67,7 +89,7 @@ public class ConstraintsByDomain {
 
   public ConstraintsByDomain put(Constraint constraint) {
     PMap<Class<? extends Constraint>, Constraint> newConstraints = constraintPMap.put(constraint.getClass(), constraint);
-    return newConstraints == constraintPMap ? this : new ConstraintsByDomain(newConstraints);
+    return newConstraints == constraintPMap ? this : of(newConstraints);
   }
 
   public Stream<Constraint> stream() {
@@ -91,6 +113,10 @@ public class ConstraintsByDomain {
       return false;
     }
     ConstraintsByDomain that = (ConstraintsByDomain) o;
+    // an interned instance is only equal to itself
+    if (interned || that.interned || hashCode != that.hashCode) {
+      return false;
+    }
     return constraintPMap.equals(that.constraintPMap);
   }
 
@@ -101,6 +127,6 @@ public class ConstraintsByDomain {
 
   @Override
   public int hashCode() {
-    return constraintPMap.hashCode();
+    return hashCode;
   }
 }
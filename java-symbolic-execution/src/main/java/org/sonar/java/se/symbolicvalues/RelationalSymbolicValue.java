@@ -21,10 +21,13 @@ package org.sonar.java.se.symbolicvalues;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
@@ -114,12 +117,13 @@ public class RelationalSymbolicValue extends BinarySymbolicValue {
     if (knownRelations.contains(this)) {
       return Collections.singletonList(initialProgramState);
     }
+    RelationsByOperand relationsByOperand = new RelationsByOperand(knownRelations);
     Set<RelationalSymbolicValue> newRelations = new HashSet<>();
     newRelations.add(this);
-    newRelations.addAll(transitiveRelations(knownRelations));
+    newRelations.addAll(transitiveRelations(knownRelations, relationsByOperand));
 
     boolean unfulfilled = newRelations.stream()
-      .map(r -> r.resolveRelationState(knownRelations))
+      .map(r -> r.resolveRelationState(relationsByOperand))
       .anyMatch(RelationState.UNFULFILLED::equals);
 
     if (unfulfilled) {
@@ -236,14 +240,18 @@ public class RelationalSymbolicValue extends BinarySymbolicValue {
 
   @VisibleForTesting
   RelationState resolveRelationState(Set<RelationalSymbolicValue> knownRelations) {
+    return resolveRelationState(new RelationsByOperand(knownRelations));
+  }
+
+  private RelationState resolveRelationState(RelationsByOperand knownRelations) {
     if (hasSameOperand()) {
       return relationStateForSameOperand();
     }
-
-    return knownRelations.stream()
+    // only a relation on the same operands can fulfill or contradict this relation
+    return knownRelations.withOperand(leftOp).stream()
       .map(r -> r.implies(this))
       .filter(RelationState::isDetermined)
-      .findAny().orElse(RelationState.UNDETERMINED);
+      .findFirst().orElse(RelationState.UNDETERMINED);
   }
 
   private RelationState relationStateForSameOperand() {
@@ -276,6 +284,10 @@ public class RelationalSymbolicValue extends BinarySymbolicValue {
 
   @VisibleForTesting
   Set<RelationalSymbolicValue> transitiveRelations(Set<RelationalSymbolicValue> knownRelations) {
+    return transitiveRelations(knownRelations, new RelationsByOperand(knownRelations));
+  }
+
+  private Set<RelationalSymbolicValue> transitiveRelations(Set<RelationalSymbolicValue> knownRelations, RelationsByOperand relationsByOperand) {
     Set<RelationalSymbolicValue> newRelations = new HashSet<>();
     Deque<RelationalSymbolicValue> workList = new ArrayDeque<>();
     int iterations = 0;
@@ -288,7 +300,8 @@ public class RelationalSymbolicValue extends BinarySymbolicValue {
       }
       iterations++;
       RelationalSymbolicValue relation = workList.pop();
-      for (RelationalSymbolicValue knownRelation : knownRelations) {
+      // only a relation sharing an operand can be combined with or simplify the current relation
+      for (RelationalSymbolicValue knownRelation : relationsByOperand.sharingOperandWith(relation)) {
         RelationalSymbolicValue r = relation.deduceTransitiveOrSimplified(knownRelation);
         if (r != null && !knownRelations.contains(r) && newRelations.add(r)) {
           workList.add(r);
@@ -474,6 +487,53 @@ public class RelationalSymbolicValue extends BinarySymbolicValue {
     return symbol != null ? ("(" + symbol.toString() + ")") : "";
   }
 
+  /**
+   * Known relations indexed by operand. The relations returned for an operand keep the iteration order of the known relations,
+   * so that the relations are deduced in the same order as when iterating over all the known relations.
+   */
+  private static class RelationsByOperand {
+    private final List<RelationalSymbolicValue> relations;
+    private final Map<SymbolicValue, List<Integer>> positionsByOperand = new HashMap<>();
+
+    RelationsByOperand(Collection<RelationalSymbolicValue> knownRelations) {
+      relations = new ArrayList<>(knownRelations);
+      for (int i = 0; i < relations.size(); i++) {
+        RelationalSymbolicValue relation = relations.get(i);
+        positionsByOperand.computeIfAbsent(relation.leftOp, k -> new ArrayList<>()).add(i);
+        if (!relation.hasSameOperand()) {
+          positionsByOperand.computeIfAbsent(relation.rightOp, k -> new ArrayList<>()).add(i);
+        }
+      }
+    }
+
+    List<RelationalSymbolicValue> withOperand(SymbolicValue operand) {
+      return positionsByOperand.getOrDefault(operand, Collections.emptyList()).stream()
+        .map(relations::get)
+        .toList();
+    }
+
+    List<RelationalSymbolicValue> sharingOperandWith(RelationalSymbolicValue relation) {
+      List<Integer> leftPositions = positionsByOperand.getOrDefault(relation.leftOp, Collections.emptyList());
+      List<Integer> rightPositions = relation.hasSameOperand() ? Collections.emptyList() : positionsByOperand.getOrDefault(relation.rightOp, Collections.emptyList());
+      List<RelationalSymbolicValue> result = new ArrayList<>(leftPositions.size() + rightPositions.size());
+      // merge of the sorted positions, relations having both operands being in both lists
+      int left = 0;
+      int right = 0;
+      while (left < leftPositions.size() || right < rightPositions.size()) {
+        int leftPosition = left < leftPositions.size() ? leftPositions.get(left) : Integer.MAX_VALUE;
+        int rightPosition = right < rightPositions.size() ? rightPositions.get(right) : Integer.MAX_VALUE;
+        if (leftPosition <= rightPosition) {
+          left++;
+        }
+        if (rightPosition <= leftPosition) {
+          right++;
+        }
+        result.add(relations.get(Math.min(leftPosition, rightPosition)));
+      }
+      return result;
+    }
+  }
+
   public static class TransitiveRelationExceededException extends RuntimeException {
     public TransitiveRelationExceededException(String msg) {
       super("Number of transitive relations exceeded!" + msg);
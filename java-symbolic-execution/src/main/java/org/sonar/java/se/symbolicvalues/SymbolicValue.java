@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.java.model.Symbols;
@@ -40,6 +41,12 @@ import org.sonar.plugins.java.api.semantic.Type;
 
 public class SymbolicValue {
 
+  /**
+   * Symbolic values are created by the analysis threads running symbolic execution, ids must be unique across threads.
+   * Declared first, as the literal values below are created during class initialization.
+   */
+  private static final AtomicInteger ID_GENERATOR = new AtomicInteger();
+
   public static final SymbolicValue NULL_LITERAL = new SymbolicValue() {
 
     @Override
@@ -81,12 +88,10 @@ public class SymbolicValue {
     FALSE_LITERAL
   );
 
-  private static int idGenerator;
   private final int id;
 
   public SymbolicValue() {
-    id = idGenerator;
-    idGenerator++;
+    id = ID_GENERATOR.getAndIncrement();
   }
 
   @Override
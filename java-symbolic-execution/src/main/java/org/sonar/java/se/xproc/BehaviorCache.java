@@ -19,19 +19,8 @@
  */
 package org.sonar.java.se.xproc;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -49,7 +38,16 @@ public class BehaviorCache {
 
   @VisibleForTesting
   public final Map<String, MethodBehavior> behaviors = new LinkedHashMap<>();
-  private Map<String, MethodBehavior> hardcodedBehaviors = null;
+  private HardcodedMethodBehaviors hardcodedBehaviors = null;
+  private final MethodBehaviorStore store;
+
+  public BehaviorCache() {
+    this(new MethodBehaviorStore());
+  }
+
+  public BehaviorCache(MethodBehaviorStore store) {
+    this.store = store;
+  }
 
   public void setFileContext(@Nullable SymbolicExecutionVisitor sev) {
     this.sev = sev;
@@ -60,9 +58,9 @@ public class BehaviorCache {
   }
 
   @VisibleForTesting
-  Map<String, MethodBehavior> hardcodedBehaviors() {
+  HardcodedMethodBehaviors hardcodedBehaviors() {
     if (hardcodedBehaviors == null) {
-      hardcodedBehaviors = HardcodedMethodBehaviors.load();
+      hardcodedBehaviors = HardcodedMethodBehaviors.uniqueInstance();
       LOG.debug("[SE] Loaded {} hardcoded method behaviors.", hardcodedBehaviors.size());
     }
     return hardcodedBehaviors;
@@ -98,7 +96,7 @@ public class BehaviorCache {
       }
     }
 
-    return hardcodedBehaviors().get(signature);
+    return storedOrHardcoded(signature);
   }
 
   /**
@@ -114,73 +112,16 @@ public class BehaviorCache {
     if (mb != null) {
       return mb;
     }
-    // check for hardcoded signatures
-    return hardcodedBehaviors().get(signature);
+    // check for behaviors of other files read from the previous analysis, then for hardcoded signatures
+    return storedOrHardcoded(signature);
   }
 
-  static class HardcodedMethodBehaviors {
-    private static final String UNABLE_LOAD_MSG = "[SE] Unable to load hardcoded method behaviors. Defaulting to no hardcoded method behaviors.";
-
-    private static final String[] BEHAVIORS_RESOURCES = {
-      "java.lang.json",
-      "java.util.json",
-      "com.google.common.base.json",
-      "org.apache.commons.collections.json",
-      "org.apache.commons.lang.json",
-      "org.apache.commons.lang3.json",
-      "org.apache.logging.log4j.core.util.json",
-      "org.eclipse.core.runtime.json",
-      "org.springframework.util.json",
-      "org.junit.jupiter.api.json",
-      "org.junit.json"
-    };
-
-    private static final Type LIST_OF_METHOD_BEHAVIORS_TYPE = new TypeToken<List<MethodBehavior>>() {}.getType();
-
-    private final Map<String, MethodBehavior> storedHardcodedMethodBehaviors;
-
-    private HardcodedMethodBehaviors() {
-      this.storedHardcodedMethodBehaviors = loadHardcodedBehaviors();
-    }
-
-    private static HardcodedMethodBehaviors uniqueInstance = null;
-
-    private static HardcodedMethodBehaviors uniqueInstance() {
-      if (uniqueInstance == null) {
-        uniqueInstance = new HardcodedMethodBehaviors();
-      }
-      return uniqueInstance;
-    }
-
-    public static Map<String, MethodBehavior> load() {
-      return uniqueInstance().storedHardcodedMethodBehaviors;
-    }
-
-    private static Map<String, MethodBehavior> loadHardcodedBehaviors() {
-      return loadHardcodedBehaviors(
-        () -> Arrays.stream(BEHAVIORS_RESOURCES)
-          .map(BehaviorCache.class::getResourceAsStream)
-          .toList());
-    }
-
-    @VisibleForTesting
-    static Map<String, MethodBehavior> loadHardcodedBehaviors(Supplier<List<InputStream>> methodBehaviorStreamsSupplier) {
-      Map<String, MethodBehavior> result = new LinkedHashMap<>();
-      Gson gson = MethodBehaviorJsonAdapter.gson();
-      for (InputStream serializedStream : methodBehaviorStreamsSupplier.get()) {
-        if (serializedStream == null) {
-          LOG.debug(UNABLE_LOAD_MSG);
-          return Collections.emptyMap();
-        }
-        try (Reader reader = new InputStreamReader(serializedStream, StandardCharsets.UTF_8)) {
-          List<MethodBehavior> deserialized = gson.fromJson(reader, LIST_OF_METHOD_BEHAVIORS_TYPE);
-          deserialized.forEach(methodBehavior -> result.put(methodBehavior.signature(), methodBehavior));
-        } catch (Exception e) {
-          LOG.error(UNABLE_LOAD_MSG, e);
-          return Collections.emptyMap();
-        }
-      }
-      return Collections.unmodifiableMap(result);
+  @CheckForNull
+  private MethodBehavior storedOrHardcoded(String signature) {
+    MethodBehavior mb = store.get(signature);
+    if (mb != null) {
+      return mb;
     }
+    return hardcodedBehaviors().get(signature);
   }
 }
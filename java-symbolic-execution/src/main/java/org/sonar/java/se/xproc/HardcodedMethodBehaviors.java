@@ -0,0 +1,167 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.CheckForNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.java.Preconditions;
+import org.sonar.java.annotations.VisibleForTesting;
+
+/**
+ * Hardcoded method behaviors of library methods, compiled at build time from their JSON definitions by
+ * HardcodedMethodBehaviorsCompiler, whose sources are in src/build/java.
+ * <p>
+ * The resource starts with an index of the signatures and the offsets of their behaviors, only the index is read when loading
+ * the resource. A behavior is decoded the first time its signature is looked up, most analyses only need a few of them.
+ */
+final class HardcodedMethodBehaviors {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HardcodedMethodBehaviors.class);
+
+  static final String RESOURCE = "hardcoded-behaviors.bin";
+  private static final int VERSION = 1;
+  private static final String UNABLE_LOAD_MSG = "[SE] Unable to load hardcoded method behaviors. Defaulting to no hardcoded method behaviors.";
+
+  private static final HardcodedMethodBehaviors EMPTY = new HardcodedMethodBehaviors(new byte[0], 0, Collections.emptyMap());
+
+  private static HardcodedMethodBehaviors uniqueInstance = null;
+
+  private final byte[] data;
+  private final int behaviorsStart;
+  private final Map<String, Integer> offsets;
+  private final Map<String, MethodBehavior> decodedBehaviors = new ConcurrentHashMap<>();
+
+  private HardcodedMethodBehaviors(byte[] data, int behaviorsStart, Map<String, Integer> offsets) {
+    this.data = data;
+    this.behaviorsStart = behaviorsStart;
+    this.offsets = offsets;
+  }
+
+  // symbolic execution can run in several analysis threads, the index is loaded once and never modified
+  static synchronized HardcodedMethodBehaviors uniqueInstance() {
+    if (uniqueInstance == null) {
+      uniqueInstance = load(() -> HardcodedMethodBehaviors.class.getResourceAsStream(RESOURCE));
+    }
+    return uniqueInstance;
+  }
+
+  @VisibleForTesting
+  static HardcodedMethodBehaviors load(Supplier<InputStream> resourceSupplier) {
+    try (InputStream resource = resourceSupplier.get()) {
+      if (resource == null) {
+        LOG.debug(UNABLE_LOAD_MSG);
+        return EMPTY;
+      }
+      return read(resource.readAllBytes());
+    } catch (Exception e) {
+      LOG.error(UNABLE_LOAD_MSG, e);
+      return EMPTY;
+    }
+  }
+
+  /**
+   * @throws IllegalStateException if the data was not produced by {@link #write(Collection)} in the same version of the format
+   */
+  static HardcodedMethodBehaviors read(byte[] data) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      int version = in.readUnsignedByte();
+      Preconditions.checkState(version == VERSION, "Unsupported version %s of hardcoded method behaviors", version);
+      int size = in.readInt();
+      Map<String, Integer> offsets = new HashMap<>(size * 4 / 3 + 1);
+      for (int i = 0; i < size; i++) {
+        offsets.put(in.readUTF(), in.readInt());
+      }
+      int behaviorsStart = data.length - in.available();
+      for (int offset : offsets.values()) {
+        Preconditions.checkState(offset >= 0 && behaviorsStart + offset < data.length, "Invalid offset %s of hardcoded method behavior", offset);
+      }
+      return new HardcodedMethodBehaviors(data, behaviorsStart, offsets);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read hardcoded method behaviors", e);
+    }
+  }
+
+  static byte[] write(Collection<MethodBehavior> behaviors) {
+    Map<String, Integer> offsets = new LinkedHashMap<>();
+    ByteArrayOutputStream encodedBehaviors = new ByteArrayOutputStream();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream behaviorsOut = new DataOutputStream(encodedBehaviors); DataOutputStream out = new DataOutputStream(bytes)) {
+      for (MethodBehavior behavior : behaviors) {
+        Integer previous = offsets.put(behavior.signature(), behaviorsOut.size());
+        Preconditions.checkState(previous == null, "Duplicated hardcoded method behavior for %s", behavior.signature());
+        MethodBehaviorBinaryFormat.write(behaviorsOut, behavior);
+      }
+      out.writeByte(VERSION);
+      out.writeInt(offsets.size());
+      for (Map.Entry<String, Integer> offset : offsets.entrySet()) {
+        out.writeUTF(offset.getKey());
+        out.writeInt(offset.getValue());
+      }
+      behaviorsOut.flush();
+      encodedBehaviors.writeTo(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @CheckForNull
+  MethodBehavior get(String signature) {
+    Integer offset = offsets.get(signature);
+    if (offset == null) {
+      return null;
+    }
+    return decodedBehaviors.computeIfAbsent(signature, k -> decode(offset));
+  }
+
+  private MethodBehavior decode(int offset) {
+    int start = behaviorsStart + offset;
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, start, data.length - start))) {
+      return MethodBehaviorBinaryFormat.read(in);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read hardcoded method behaviors", e);
+    }
+  }
+
+  @VisibleForTesting
+  Set<String> signatures() {
+    return Collections.unmodifiableSet(offsets.keySet());
+  }
+
+  int size() {
+    return offsets.size();
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.java.Preconditions;
+import org.sonar.java.se.checks.DivisionByZeroCheck.ZeroConstraint;
+import org.sonar.java.se.constraint.BooleanConstraint;
+import org.sonar.java.se.constraint.Constraint;
+import org.sonar.java.se.constraint.ConstraintsByDomain;
+import org.sonar.java.se.constraint.ObjectConstraint;
+
+/**
+ * Compact binary form of completed method behaviors. Like the JSON form of the hardcoded behaviors, only happy path and
+ * exceptional yields are kept, with their constraints of the object, boolean and zero domains. Behaviors having constraints of
+ * other domains, or yields raised by checks, cannot be encoded, see {@link #canEncode(MethodBehavior)}.
+ * <p>
+ * Each set of constraints is encoded as a single byte, one bit per constraint.
+ */
+final class MethodBehaviorBinaryFormat {
+
+  private static final int VERSION = 1;
+
+  private static final byte HAPPY_PATH_YIELD = 0;
+  private static final byte EXCEPTIONAL_YIELD = 1;
+
+  private static final int NO_CONSTRAINTS = -1;
+  private static final Constraint[] ENCODED_CONSTRAINTS = {
+    ObjectConstraint.NULL,
+    ObjectConstraint.NOT_NULL,
+    BooleanConstraint.TRUE,
+    BooleanConstraint.FALSE,
+    ZeroConstraint.ZERO,
+    ZeroConstraint.NON_ZERO
+  };
+
+  private MethodBehaviorBinaryFormat() {
+  }
+
+  /**
+   * @return false if some constraints of the yields of the behavior would be lost by the encoding, or if some yields are raised by
+   * checks: the check and the symbolic value causing the exception are needed to report issues when the method is invoked
+   */
+  static boolean canEncode(MethodBehavior behavior) {
+    for (MethodYield methodYield : behavior.yields()) {
+      if (methodYield instanceof ExceptionalCheckBasedYield
+        || (methodYield instanceof HappyPathYield happyPathYield && !canEncode(happyPathYield.resultConstraint()))) {
+        return false;
+      }
+      for (ConstraintsByDomain parameterConstraints : methodYield.parametersConstraints) {
+        if (!canEncode(parameterConstraints)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean canEncode(@Nullable ConstraintsByDomain constraints) {
+    return constraints == null || constraints.stream().allMatch(constraint -> indexOf(constraint) >= 0);
+  }
+
+  private static int indexOf(Constraint constraint) {
+    for (int i = 0; i < ENCODED_CONSTRAINTS.length; i++) {
+      if (ENCODED_CONSTRAINTS[i] == constraint) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @throws IllegalStateException if one of the behaviors cannot be encoded
+   */
+  static byte[] serialize(Collection<MethodBehavior> behaviors) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeInt(behaviors.size());
+      for (MethodBehavior behavior : behaviors) {
+        write(out, behavior);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @throws IllegalStateException if the data was not produced by {@link #serialize(Collection)} in the same version of the format
+   */
+  static List<MethodBehavior> deserialize(byte[] data) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      int version = in.readUnsignedByte();
+      Preconditions.checkState(version == VERSION, "Unsupported version %s of serialized method behaviors", version);
+      int size = in.readInt();
+      List<MethodBehavior> behaviors = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        behaviors.add(read(in));
+      }
+      return behaviors;
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read serialized method behaviors", e);
+    }
+  }
+
+  static void write(DataOutput out, MethodBehavior behavior) throws IOException {
+    Preconditions.checkState(behavior.isComplete());
+    Preconditions.checkState(canEncode(behavior), "Constraints of method behavior %s cannot be encoded", behavior.signature());
+    out.writeUTF(behavior.signature());
+    out.writeBoolean(behavior.isMethodVarArgs());
+    List<String> declaredExceptions = behavior.getDeclaredExceptions();
+    out.writeShort(declaredExceptions.size());
+    for (String declaredException : declaredExceptions) {
+      out.writeUTF(declaredException);
+    }
+    List<MethodYield> yields = behavior.yields();
+    out.writeShort(yields.size());
+    for (MethodYield methodYield : yields) {
+      if (methodYield instanceof HappyPathYield happyPathYield) {
+        out.writeByte(HAPPY_PATH_YIELD);
+        out.writeShort(happyPathYield.resultIndex());
+        out.writeByte(encode(happyPathYield.resultConstraint()));
+      } else {
+        String exceptionType = ((ExceptionalYield) methodYield).getExceptionType();
+        out.writeByte(EXCEPTIONAL_YIELD);
+        out.writeBoolean(exceptionType != null);
+        if (exceptionType != null) {
+          out.writeUTF(exceptionType);
+        }
+      }
+      out.writeByte(methodYield.parametersConstraints.size());
+      for (ConstraintsByDomain parameterConstraints : methodYield.parametersConstraints) {
+        out.writeByte(encode(parameterConstraints));
+      }
+    }
+  }
+
+  static MethodBehavior read(DataInput in) throws IOException {
+    MethodBehavior behavior = new MethodBehavior(in.readUTF(), in.readBoolean());
+    int declaredExceptionsCount = in.readUnsignedShort();
+    List<String> declaredExceptions = new ArrayList<>(declaredExceptionsCount);
+    for (int i = 0; i < declaredExceptionsCount; i++) {
+      declaredExceptions.add(in.readUTF());
+    }
+    behavior.setDeclaredExceptions(declaredExceptions);
+    int yieldsCount = in.readUnsignedShort();
+    for (int i = 0; i < yieldsCount; i++) {
+      MethodYield methodYield;
+      if (in.readByte() == HAPPY_PATH_YIELD) {
+        HappyPathYield happyPathYield = new HappyPathYield(behavior);
+        int resultIndex = in.readShort();
+        happyPathYield.setResult(resultIndex, decode(in.readByte()));
+        methodYield = happyPathYield;
+      } else {
+        ExceptionalYield exceptionalYield = new ExceptionalYield(behavior);
+        exceptionalYield.setExceptionType(in.readBoolean() ? in.readUTF() : null);
+        methodYield = exceptionalYield;
+      }
+      int parametersCount = in.readUnsignedByte();
+      for (int j = 0; j < parametersCount; j++) {
+        methodYield.parametersConstraints.add(decode(in.readByte()));
+      }
+      behavior.addYield(methodYield);
+    }
+    behavior.completed();
+    return behavior;
+  }
+
+  private static int encode(@Nullable ConstraintsByDomain constraints) {
+    if (constraints == null) {
+      return NO_CONSTRAINTS;
+    }
+    int encoded = 0;
+    for (int i = 0; i < ENCODED_CONSTRAINTS.length; i++) {
+      if (constraints.hasConstraint(ENCODED_CONSTRAINTS[i])) {
+        encoded |= 1 << i;
+      }
+    }
+    return encoded;
+  }
+
+  @CheckForNull
+  private static ConstraintsByDomain decode(byte encoded) {
+    if (encoded == NO_CONSTRAINTS) {
+      return null;
+    }
+    ConstraintsByDomain constraints = ConstraintsByDomain.empty();
+    for (int i = 0; i < ENCODED_CONSTRAINTS.length; i++) {
+      if ((encoded & (1 << i)) != 0) {
+        constraints = constraints.put(ENCODED_CONSTRAINTS[i]);
+      }
+    }
+    return constraints;
+  }
+}
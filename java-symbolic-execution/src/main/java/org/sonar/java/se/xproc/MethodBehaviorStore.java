@@ -0,0 +1,121 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.java.api.InputFileScannerContext;
+import org.sonar.plugins.java.api.caching.CacheContext;
+
+/**
+ * Project-wide storage of the behaviors computed for methods which cannot be overridden, so that the symbolic execution of a
+ * file can rely on the behaviors of the methods declared in other files.
+ * <p>
+ * The behaviors computed for the methods of a file are persisted in the cache of the analysis, under a key specific to the file.
+ * When the file is unchanged, and so are the files it depends on, the next analysis reads them back instead of executing the
+ * methods again.
+ * <p>
+ * The store is shared by the analysis threads. Stored behaviors are detached from the exploded graph they were computed from,
+ * and never modified.
+ * <p>
+ * So that the issues raised in a file depend neither on the order of the files nor on the scheduling of the analysis threads,
+ * the behaviors computed during an analysis are only persisted for the next one. The symbolic execution of a file only relies
+ * on the behaviors read back from the previous analysis, which are all loaded before the first file is parsed.
+ * <p>
+ * Behaviors are only read back for the files which are skipped, that is in a context where unchanged files can be skipped, such
+ * as a pull request analysis. An analysis of all the files, such as a branch analysis, reads none: the methods of other files
+ * then only have their hardcoded behaviors, and fewer issues involving them can be raised than on a pull request of the same
+ * code.
+ */
+public class MethodBehaviorStore {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MethodBehaviorStore.class);
+
+  static final String CACHE_KEY_PREFIX = "java:se:behaviors:";
+
+  private final Map<String, MethodBehavior> behaviors = new ConcurrentHashMap<>();
+
+  @CheckForNull
+  public MethodBehavior get(String signature) {
+    return behaviors.get(signature);
+  }
+
+  /**
+   * Persists, for the next analysis, the completed behaviors computed for the methods declared in the file of the given context.
+   * They are not stored for the files analyzed afterwards. Nothing is persisted when the cache is disabled, and behaviors which
+   * cannot be encoded without losing some of their yields or constraints are left out.
+   */
+  public void save(InputFileScannerContext context, Collection<MethodBehavior> fileBehaviors) {
+    CacheContext cacheContext = context.getCacheContext();
+    if (cacheContext.isCacheEnabled()) {
+      List<MethodBehavior> encodableBehaviors = fileBehaviors.stream()
+        .filter(MethodBehaviorBinaryFormat::canEncode)
+        .toList();
+      byte[] data = MethodBehaviorBinaryFormat.serialize(encodableBehaviors);
+      String cacheKey = cacheKey(context.getInputFile());
+      try {
+        cacheContext.getWriteCache().write(cacheKey, data);
+      } catch (IllegalArgumentException e) {
+        LOG.trace("Tried to write multiple times to cache key '{}'. Ignoring writes after the first.", cacheKey);
+      }
+    }
+  }
+
+  /**
+   * Stores the behaviors persisted by the previous analysis for the file of the given context, and keeps them for the next
+   * analysis.
+   *
+   * @return false if the previous analysis did not persist usable behaviors for the file, in which case the behaviors of its
+   * methods are unknown to the other files
+   */
+  public boolean loadFromPreviousAnalysis(InputFileScannerContext context) {
+    CacheContext cacheContext = context.getCacheContext();
+    String cacheKey = cacheKey(context.getInputFile());
+    byte[] data = cacheContext.getReadCache().readBytes(cacheKey);
+    if (data == null) {
+      LOG.trace("No cached method behaviors for file {}", context.getInputFile());
+      return false;
+    }
+    List<MethodBehavior> fileBehaviors;
+    try {
+      fileBehaviors = MethodBehaviorBinaryFormat.deserialize(data);
+    } catch (IllegalStateException e) {
+      LOG.trace("Unable to read cached method behaviors for file {}", context.getInputFile(), e);
+      return false;
+    }
+    store(fileBehaviors);
+    cacheContext.getWriteCache().copyFromPrevious(cacheKey);
+    return true;
+  }
+
+  private void store(List<MethodBehavior> fileBehaviors) {
+    fileBehaviors.forEach(behavior -> behaviors.put(behavior.signature(), behavior));
+  }
+
+  static String cacheKey(InputFile inputFile) {
+    return CACHE_KEY_PREFIX + inputFile.key();
+  }
+}
@@ -0,0 +1,19 @@
+package foo.bar;
+
+class A {
+  static Object exportedStatic(Object o) {
+    return o.toString();
+  }
+
+  final Object exportedFinal(Object o) {
+    return privateMethod(o);
+  }
+
+  private static Object privateMethod(Object o) {
+    return o.hashCode() > 0 ? o : null;
+  }
+
+  Object overridable(Object o) {
+    return o.toString();
+  }
+}
@@ -0,0 +1,21 @@
+class A {
+
+  boolean boolMethod() {
+    return new java.util.Random().nextBoolean();
+  }
+
+  void test_dead_variable_in_branch() {
+    Object x = null;
+    if (boolMethod()) {
+      x = new Object();
+    }
+    if (boolMethod()) {
+      System.out.println(x);
+      return;
+    }
+    after();
+  }
+
+  void after() {
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonar.java.se.ExecutionBudget.STEPS_BETWEEN_CHECKS;
+
+class ExecutionBudgetTest {
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+
+  @Test
+  void unlimited_budget_is_never_exceeded() {
+    assertThat(ExecutionBudget.UNLIMITED.isUnlimited()).isTrue();
+    ExecutionBudget budget = new ExecutionBudget(0L, 0L, 0L, 0, nanoTime::get, allocatedBytes::get);
+    ExecutionBudget.MethodExecution method = budget.startFile().startMethod();
+    nanoTime.set(Long.MAX_VALUE);
+    allocatedBytes.set(Long.MAX_VALUE);
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+  }
+
+  @Test
+  void method_time_budget() {
+    ExecutionBudget budget = new ExecutionBudget(100L, 0L, 0L, 0, nanoTime::get, allocatedBytes::get);
+    assertThat(budget.isUnlimited()).isFalse();
+    ExecutionBudget.FileExecution file = budget.startFile();
+    nanoTime.set(TimeUnit.MILLISECONDS.toNanos(1_000));
+    ExecutionBudget.MethodExecution method = file.startMethod();
+
+    nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+    nanoTime.incrementAndGet();
+    // only checked every few steps
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS + 1)).isNull();
+    assertThat(method.exceededBudget(2 * STEPS_BETWEEN_CHECKS)).isEqualTo("time budget of 100 ms");
+    assertThat(file.startMethod().exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+  }
+
+  @Test
+  void file_time_budget() {
+    ExecutionBudget budget = new ExecutionBudget(0L, 100L, 0L, 0, nanoTime::get, allocatedBytes::get);
+    ExecutionBudget.FileExecution file = budget.startFile();
+    nanoTime.set(TimeUnit.MILLISECONDS.toNanos(60));
+    ExecutionBudget.MethodExecution method = file.startMethod();
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+
+    nanoTime.set(TimeUnit.MILLISECONDS.toNanos(101));
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isEqualTo("time budget of 100 ms for the file");
+    assertThat(file.startMethod().exceededBudget(STEPS_BETWEEN_CHECKS)).isEqualTo("time budget of 100 ms for the file");
+    assertThat(budget.startFile().startMethod().exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+  }
+
+  @Test
+  void method_allocation_budget() {
+    ExecutionBudget budget = new ExecutionBudget(0L, 0L, 1L, 0, nanoTime::get, allocatedBytes::get);
+    allocatedBytes.set(10_000L);
+    ExecutionBudget.MethodExecution method = budget.startFile().startMethod();
+
+    allocatedBytes.addAndGet(1024L);
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+    allocatedBytes.incrementAndGet();
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isEqualTo("allocation budget of 1 KB");
+    assertThat(budget).hasToString("0 ms per method, 0 ms per file, 1 KB per method, 3000000 flow steps per method");
+  }
+
+  @Test
+  void method_flow_steps_budget() {
+    ExecutionBudget budget = new ExecutionBudget(0L, 0L, 0L, 2, nanoTime::get, allocatedBytes::get);
+    assertThat(budget.isUnlimited()).isTrue();
+    ExecutionBudget.FileExecution file = budget.startFile();
+    ExecutionBudget.MethodExecution method = file.startMethod();
+
+    assertThat(method.consumeFlowStep()).isTrue();
+    assertThat(method.consumeFlowStep()).isTrue();
+    assertThat(method.consumeFlowStep()).isFalse();
+    assertThat(file.startMethod().consumeFlowStep()).isTrue();
+    assertThat(budget).hasToString("0 ms per method, 0 ms per file, 0 KB per method, 2 flow steps per method");
+  }
+
+  @Test
+  void allocation_budget_is_ignored_when_allocations_cannot_be_measured() {
+    allocatedBytes.set(-1L);
+    ExecutionBudget budget = new ExecutionBudget(0L, 0L, 1L, 0, nanoTime::get, allocatedBytes::get);
+    ExecutionBudget.MethodExecution method = budget.startFile().startMethod();
+    assertThat(method.exceededBudget(STEPS_BETWEEN_CHECKS)).isNull();
+  }
+}
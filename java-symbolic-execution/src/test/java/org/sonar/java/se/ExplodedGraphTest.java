@@ -19,9 +19,13 @@
  */
 package org.sonar.java.se;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +44,7 @@ class ExplodedGraphTest {
     ExplodedGraph.Edge edge = child.edges().iterator().next();
     assertThat(edge.parent).isEqualTo(parent);
     assertThat(child.parent()).isEqualTo(parent);
+    assertThat(edge.hashCode()).isEqualTo(Objects.hash(child, parent));
 
     // adding same parent twice
     child.addParent(parent, null);
@@ -54,6 +59,39 @@ class ExplodedGraphTest {
     assertThat(child.parents()).hasSize(2);
   }
 
+  @Test
+  void test_node_with_many_parents() {
+    ExplodedGraph eg = new ExplodedGraph();
+    ExplodedGraph.Node child = eg.node(mockProgramPoint("child"), null);
+    List<ExplodedGraph.Node> parents = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      ExplodedGraph.Node parent = eg.node(mockProgramPoint("parent" + i), null);
+      parents.add(parent);
+      child.addParent(parent, null);
+      child.addParent(parent, null);
+    }
+    assertThat(child.edges()).hasSize(20);
+    assertThat(child.parents()).containsExactlyElementsOf(parents);
+    assertThat(child.parents().contains(parents.get(15))).isTrue();
+    assertThat(child.parents().contains(child)).isFalse();
+    assertThat(child.parents()).isSameAs(child.parents());
+    assertThatThrownBy(() -> child.parents().add(child)).isInstanceOf(UnsupportedOperationException.class);
+    assertThat(child.parent()).isSameAs(parents.get(0));
+    assertThat(child.edges()).allMatch(edge -> edge.yields().isEmpty());
+  }
+
+  @Test
+  void test_node_siblings() {
+    ExplodedGraph eg = new ExplodedGraph();
+    ProgramPoint pp = mockProgramPoint("pp");
+    ExplodedGraph.Node node1 = eg.node(pp, mock(ProgramState.class));
+    ExplodedGraph.Node node2 = eg.node(pp, mock(ProgramState.class));
+
+    assertThat(node1.siblings()).containsExactly(node2);
+    assertThat(node2.siblings()).containsExactly(node1);
+    assertThat(eg.nodes(pp)).containsExactly(node1, node2);
+  }
+
   @Test
   void test_node_equality() {
     ExplodedGraph eg = new ExplodedGraph();
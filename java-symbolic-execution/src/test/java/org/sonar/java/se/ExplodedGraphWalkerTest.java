@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.sonar.java.cfg.CFG;
@@ -66,6 +67,7 @@ import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -116,6 +118,39 @@ class ExplodedGraphWalkerTest {
         .isGreaterThan(steps[1]);
   }
 
+  @Test
+  void test_dead_variables_dropped_when_entering_block() {
+    List<ProgramState> statesBeforeCall = new ArrayList<>();
+    Symbol[] variable = new Symbol[1];
+    SECheck check = new SECheck() {
+      @Override
+      public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
+        if (syntaxNode.is(Tree.Kind.METHOD_INVOCATION) && ((MethodInvocationTree) syntaxNode).methodSymbol().name().equals("after")) {
+          statesBeforeCall.add(context.getState());
+        }
+        return context.getState();
+      }
+
+      @Override
+      public ProgramState checkPostStatement(CheckerContext context, Tree syntaxNode) {
+        if (syntaxNode.is(Tree.Kind.VARIABLE)) {
+          variable[0] = ((VariableTree) syntaxNode).symbol();
+        }
+        return context.getState();
+      }
+    };
+    SECheckVerifier.newVerifier()
+      .onFile("src/test/files/se/PruneDeadVariablesOnBlockEntry.java")
+      .withCheck(check)
+      .withClassPath(SETestUtils.CLASS_PATH)
+      .verifyNoIssues();
+    // 'x' is still live when leaving the second condition, but not when entering its false branch:
+    // the states where 'x' is null or not null are merged
+    assertThat(variable[0]).isNotNull();
+    assertThat(statesBeforeCall).hasSize(1);
+    assertThat(statesBeforeCall.get(0).getValue(variable[0])).isNull();
+  }
+
   @Test
   void reproducer() throws Exception {
     SECheckVerifier.newVerifier()
@@ -209,10 +244,10 @@ class ExplodedGraphWalkerTest {
 
               if (getNode) {
                 if (firstExceptionalNode == null) {
-                  firstExceptionalNode = workList.peekFirst();
+                  firstExceptionalNode = workList.peekNext();
                 }
                 assertThat(workList).as("Should have created a new node in the graph for each of the exceptions").hasSize(workListSize + 1);
-                assertThat(workList.peekFirst().programState.peekValue()).as("Exceptional Symbolic Value should stay on the stack").isEqualTo(exceptionSV);
+                assertThat(workList.peekNext().programState.peekValue()).as("Exceptional Symbolic Value should stay on the stack").isEqualTo(exceptionSV);
                 tested[0]++;
               }
             }
@@ -268,7 +303,7 @@ class ExplodedGraphWalkerTest {
               assertThat(workList).hasSize(workListSize + 1);
               if (shouldEnqueueFalseBranch) {
                 assertThat(programPoints[1]).isNull();
-                programPoints[1] = workList.peekFirst().programPoint;
+                programPoints[1] = workList.peekNext().programPoint;
               }
             }
           };
@@ -379,6 +414,34 @@ class ExplodedGraphWalkerTest {
       .verifyNoIssues();
   }
 
+  @Test
+  void test_execution_budget_exceeded() throws Exception {
+    AtomicLong nanoTime = new AtomicLong();
+    // every check of the budget takes 1 ms
+    ExecutionBudget budget = new ExecutionBudget(10L, 0L, 0L, 0, () -> nanoTime.addAndGet(1_000_000L), () -> -1L);
+    SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(Collections.emptyList(), budget) {
+      @Override
+      public void visitNode(Tree tree) {
+        MethodTree methodTree = (MethodTree) tree;
+        ExplodedGraphWalker explodedGraphWalker = getWalker();
+        try {
+          explodedGraphWalker.visitMethod(methodTree, methodBehaviorForSymbol(methodTree.symbol()));
+          fail("Budget should have been exceeded");
+        } catch (ExplodedGraphWalker.ExecutionBudgetExceededException exception) {
+          assertThat(exception.getMessage()).startsWith("reached time budget of 10 ms after ");
+          assertThat(explodedGraphWalker.steps).isLessThan(16_000);
+        }
+      }
+    };
+    SECheckVerifier.newVerifier()
+      .onFile("src/test/files/se/MaxSteps.java")
+      .withCheck(visitor)
+      .withClassPath(SETestUtils.CLASS_PATH)
+      .verifyNoIssues();
+    assertThat(visitor.statistics().budgetExceededMethods()).isPositive();
+    assertThat(visitor.statistics().budgetExceededMethodNames()).isNotEmpty().allMatch(name -> name.contains(" in class "));
+  }
+
   @Test
   void test_maximum_steps_reached_with_issue() throws Exception {
     SECheckVerifier.newVerifier()
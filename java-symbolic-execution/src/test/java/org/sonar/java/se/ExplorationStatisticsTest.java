@@ -0,0 +1,39 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExplorationStatisticsTest {
+
+  @Test
+  void at_most_10_methods_exceeding_their_budget_are_recorded_by_concurrent_walkers() {
+    ExplorationStatistics statistics = new ExplorationStatistics(ExplorationStrategy.DEPTH_FIRST);
+
+    IntStream.range(0, 1_000).parallel().forEach(i -> statistics.budgetExceeded("method" + i));
+
+    assertThat(statistics.budgetExceededMethods()).isEqualTo(1_000L);
+    assertThat(statistics.budgetExceededMethodNames()).hasSize(10).doesNotHaveDuplicates();
+  }
+
+}
@@ -53,6 +53,23 @@ class ProgramStateTest {
       .isEqualTo(state2);
   }
 
+  @Test
+  void testing_subsumes() {
+    SymbolicValue sv1 = new SymbolicValue();
+    SymbolicValue sv2 = new SymbolicValue();
+    Symbol variable = variable("x");
+    ProgramState general = ProgramState.EMPTY_STATE.put(variable, sv1).addConstraint(sv1, ObjectConstraint.NOT_NULL);
+    ProgramState specific = general.addConstraint(sv1, BooleanConstraint.TRUE).addConstraint(sv2, ObjectConstraint.NULL);
+    ProgramState contradicting = ProgramState.EMPTY_STATE.put(variable, sv1).addConstraint(sv1, ObjectConstraint.NULL);
+
+    assertThat(general.subsumes(general)).isTrue();
+    assertThat(general.subsumes(specific)).isTrue();
+    assertThat(specific.subsumes(general)).isFalse();
+    assertThat(general.subsumes(contradicting)).isFalse();
+    assertThat(general.subsumes(ProgramState.EMPTY_STATE.put(variable, sv2).addConstraint(sv2, ObjectConstraint.NOT_NULL))).isFalse();
+    assertThat(general.subsumes(specific.stackValue(sv2))).isFalse();
+  }
+
   @Test
   void testStackUnstack() {
     SymbolicValue sv1 = new SymbolicValue();
@@ -20,10 +20,12 @@
 package org.sonar.java.se;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.sonar.java.cfg.CFG;
+import org.sonar.java.se.constraint.Constraint;
 import org.sonar.java.se.constraint.ObjectConstraint;
 import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.java.se.utils.CFGTestUtils;
@@ -42,4 +44,25 @@ class SECheckTest {
     assertThat(flows.iterator().next().isEmpty()).isTrue();
   }
 
+  @Test
+  void flow_computations_stop_once_the_method_has_no_flow_steps_left() {
+    ExplodedGraph.Node node = nodeWithParent(new ExplodedGraph(new ExecutionBudget(0L, 0L, 0L, 1).startFile().startMethod()));
+    List<Class<? extends Constraint>> domains = Collections.singletonList(ObjectConstraint.class);
+    SymbolicValue symbolicValue = new SymbolicValue();
+
+    FlowComputation.flow(node, symbolicValue, domains, FlowComputation.MAX_REPORTED_FLOWS);
+    assertThat(FlowComputation.flow(node, symbolicValue, domains, FlowComputation.MAX_REPORTED_FLOWS)).isEmpty();
+
+    ExplodedGraph.Node nodeWithDefaultBudget = nodeWithParent(new ExplodedGraph());
+    FlowComputation.flow(nodeWithDefaultBudget, symbolicValue, domains, FlowComputation.MAX_REPORTED_FLOWS);
+    assertThat(FlowComputation.flow(nodeWithDefaultBudget, symbolicValue, domains, FlowComputation.MAX_REPORTED_FLOWS)).isNotEmpty();
+  }
+
+  private static ExplodedGraph.Node nodeWithParent(ExplodedGraph eg) {
+    CFG cfg = CFGTestUtils.buildCFG("void foo(boolean a) { if(a) {foo(true);} foo(false); }");
+    ExplodedGraph.Node node = eg.node(new ProgramPoint(cfg.blocks().get(3)), ProgramState.EMPTY_STATE);
+    node.addParent(eg.node(new ProgramPoint(cfg.blocks().get(2)).next().next(), ProgramState.EMPTY_STATE), null);
+    return node;
+  }
+
 }
@@ -0,0 +1,145 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import com.google.common.reflect.ClassPath;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.check.Rule;
+import org.sonar.java.checks.verifier.internal.InternalInputFile;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.checks.DivisionByZeroCheck;
+import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.java.se.checks.SECheck;
+import org.sonar.java.se.utils.SETestUtils;
+import org.sonar.java.se.xproc.MethodBehavior;
+import org.sonar.plugins.java.api.InputFileScannerContext;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+import org.sonar.plugins.java.api.internal.Stateless;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.sonar.java.se.utils.SETestUtils.createSymbolicExecutionVisitor;
+import static org.sonar.java.se.utils.SETestUtils.getMethodBehavior;
+
+class SymbolicExecutionVisitorTest {
+
+  private static final String EXPORTED_STATIC = "foo.bar.A#exportedStatic(Ljava/lang/Object;)Ljava/lang/Object;";
+
+  @Test
+  void new_instance_delegates_to_the_given_checks() {
+    List<SECheck> seChecks = Arrays.asList(new NullDereferenceCheck(), new DivisionByZeroCheck());
+    SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(seChecks);
+    assertThat(visitor.delegates()).containsExactlyElementsOf(seChecks);
+
+    NullDereferenceCheck workerNullDereferenceCheck = new NullDereferenceCheck();
+    DivisionByZeroCheck workerDivisionByZeroCheck = new DivisionByZeroCheck();
+    JavaCheck workerVisitor = visitor.createInstance(Arrays.asList(workerNullDereferenceCheck, workerDivisionByZeroCheck));
+    assertThat(workerVisitor).isInstanceOf(SymbolicExecutionVisitor.class).isNotSameAs(visitor);
+    SymbolicExecutionVisitor workerSymbolicExecutionVisitor = (SymbolicExecutionVisitor) workerVisitor;
+    assertThat(workerSymbolicExecutionVisitor.delegates()).containsExactly(workerNullDereferenceCheck, workerDivisionByZeroCheck);
+    assertThat(workerSymbolicExecutionVisitor.behaviorCache).isNotSameAs(visitor.behaviorCache);
+  }
+
+  @Test
+  void behaviors_computed_during_the_analysis_are_not_shared_with_other_files() {
+    SymbolicExecutionVisitor visitor = createSymbolicExecutionVisitor("src/test/files/se/ExportedMethodBehaviors.java");
+    visitor.behaviorCache.cleanup();
+    SymbolicExecutionVisitor workerVisitor = (SymbolicExecutionVisitor) visitor.createInstance(List.of());
+
+    assertThat(visitor.behaviorCache.peek(EXPORTED_STATIC)).isNull();
+    assertThat(workerVisitor.behaviorCache.peek(EXPORTED_STATIC)).isNull();
+  }
+
+  @Test
+  void behaviors_of_methods_callable_from_other_files_are_shared_with_the_next_analysis() {
+    InputFile inputFile = InternalInputFile.inputFile("", new File("src/test/files/se/ExportedMethodBehaviors.java"));
+    String cacheKey = "java:se:behaviors:" + inputFile.key();
+    JavaWriteCache writeCache = mock(JavaWriteCache.class);
+    CacheContext cacheContext = mock(CacheContext.class);
+    when(cacheContext.isCacheEnabled()).thenReturn(true);
+    when(cacheContext.getWriteCache()).thenReturn(writeCache);
+    JavaTree.CompilationUnitTreeImpl cut = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(inputFile.file(), SETestUtils.CLASS_PATH);
+    SymbolicExecutionVisitor visitor = new SymbolicExecutionVisitor(List.of());
+    visitor.scanFile(new DefaultJavaFileScannerContext(cut, inputFile, cut.sema, null, new JavaVersionImpl(8), true, false, cacheContext));
+    ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+    verify(writeCache).write(eq(cacheKey), data.capture());
+
+    // the file is unchanged in the next analysis
+    JavaReadCache readCache = mock(JavaReadCache.class);
+    when(readCache.readBytes(cacheKey)).thenReturn(data.getValue());
+    when(cacheContext.getReadCache()).thenReturn(readCache);
+    InputFileScannerContext unchangedFileContext = mock(InputFileScannerContext.class);
+    when(unchangedFileContext.getCacheContext()).thenReturn(cacheContext);
+    when(unchangedFileContext.getInputFile()).thenReturn(inputFile);
+    SymbolicExecutionVisitor nextVisitor = new SymbolicExecutionVisitor(List.of());
+    assertThat(nextVisitor.scanWithoutParsing(unchangedFileContext)).isTrue();
+    SymbolicExecutionVisitor workerVisitor = (SymbolicExecutionVisitor) nextVisitor.createInstance(List.of());
+
+    MethodBehavior exportedStatic = workerVisitor.behaviorCache.peek(EXPORTED_STATIC);
+    assertThat(exportedStatic).isNotNull();
+    assertThat(exportedStatic.yields()).hasSameSizeAs(getMethodBehavior(visitor, "exportedStatic").yields());
+    MethodBehavior exportedFinal = workerVisitor.behaviorCache.peek("foo.bar.A#exportedFinal(Ljava/lang/Object;)Ljava/lang/Object;");
+    assertThat(exportedFinal).isNotNull();
+    assertThat(exportedFinal.yields()).hasSameSizeAs(getMethodBehavior(visitor, "exportedFinal").yields());
+    assertThat(workerVisitor.behaviorCache.peek("foo.bar.A#privateMethod(Ljava/lang/Object;)Ljava/lang/Object;")).isNull();
+    assertThat(workerVisitor.behaviorCache.peek("foo.bar.A#overridable(Ljava/lang/Object;)Ljava/lang/Object;")).isNull();
+  }
+
+  @Test
+  void unchanged_files_can_be_skipped_without_cached_behaviors() {
+    CacheContext cacheContext = mock(CacheContext.class);
+    when(cacheContext.getReadCache()).thenReturn(mock(JavaReadCache.class));
+    InputFileScannerContext context = mock(InputFileScannerContext.class);
+    when(context.getCacheContext()).thenReturn(cacheContext);
+    when(context.getInputFile()).thenReturn(mock(InputFile.class));
+
+    assertThat(new SymbolicExecutionVisitor(List.of()).scanWithoutParsing(context)).isTrue();
+  }
+
+  @Test
+  void rules_implemented_by_symbolic_execution_are_stateless() throws IOException {
+    List<Class<?>> ruleClasses = ClassPath.from(SymbolicExecutionVisitorTest.class.getClassLoader())
+      .getTopLevelClasses("org.sonar.java.se.checks")
+      .stream()
+      .map(ClassPath.ClassInfo::load)
+      .filter(clazz -> clazz.isAnnotationPresent(Rule.class) && !Modifier.isAbstract(clazz.getModifiers()))
+      .toList();
+    assertThat(ruleClasses)
+      .isNotEmpty()
+      .allMatch(clazz -> clazz.isAnnotationPresent(Stateless.class));
+  }
+
+}
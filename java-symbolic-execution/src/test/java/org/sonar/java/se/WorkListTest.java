@@ -0,0 +1,96 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.cfg.CFG;
+import org.sonar.java.se.symbolicvalues.SymbolicValue;
+import org.sonar.java.se.utils.CFGTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkListTest {
+
+  private static final String IF_ELSE = "void foo(boolean a) { if (a) { foo(true); } else { foo(false); } bar(); }";
+
+  @Test
+  void depth_first_explores_last_enqueued_node_first() {
+    CFG cfg = CFGTestUtils.buildCFG(IF_ELSE);
+    ExplodedGraph explodedGraph = new ExplodedGraph();
+    ExplodedGraph.Node entry = explodedGraph.node(new ProgramPoint(cfg.entryBlock()), ProgramState.EMPTY_STATE);
+    ExplodedGraph.Node exit = explodedGraph.node(new ProgramPoint(cfg.exitBlock()), ProgramState.EMPTY_STATE);
+
+    WorkList workList = ExplorationStrategy.DEPTH_FIRST.newWorkList(cfg);
+    workList.add(entry);
+    workList.add(exit);
+
+    assertThat(workList).containsExactly(exit, entry);
+    assertThat(workList.peekNext()).isSameAs(exit);
+    assertThat(workList.removeNext()).isSameAs(exit);
+    assertThat(workList.removeNext()).isSameAs(entry);
+    assertThat(workList.isEmpty()).isTrue();
+    assertThat(workList.peekNext()).isNull();
+  }
+
+  @Test
+  void reverse_postorder_visits_join_block_after_both_branches() {
+    CFG cfg = CFGTestUtils.buildCFG(IF_ELSE);
+    CFG.Block entryBlock = cfg.entryBlock();
+    CFG.Block trueBlock = entryBlock.trueBlock();
+    CFG.Block falseBlock = entryBlock.falseBlock();
+    CFG.Block joinBlock = trueBlock.successors().iterator().next();
+
+    Map<Integer, Integer> indexes = WorkList.reversePostorderIndexes(cfg);
+
+    assertThat(indexes).hasSize(cfg.blocks().size());
+    assertThat(indexes.get(entryBlock.id())).isZero();
+    assertThat(indexes.get(joinBlock.id()))
+      .isGreaterThan(indexes.get(trueBlock.id()))
+      .isGreaterThan(indexes.get(falseBlock.id()))
+      .isLessThan(indexes.get(cfg.exitBlock().id()));
+  }
+
+  @Test
+  void reverse_postorder_explores_nodes_by_block_then_program_point_then_last_enqueued() {
+    CFG cfg = CFGTestUtils.buildCFG(IF_ELSE);
+    ExplodedGraph explodedGraph = new ExplodedGraph();
+    ProgramPoint entryPoint = new ProgramPoint(cfg.entryBlock());
+    ExplodedGraph.Node exit = explodedGraph.node(new ProgramPoint(cfg.exitBlock()), ProgramState.EMPTY_STATE);
+    ExplodedGraph.Node entryNextPoint = explodedGraph.node(entryPoint.next(), ProgramState.EMPTY_STATE);
+    ExplodedGraph.Node entry = explodedGraph.node(entryPoint, ProgramState.EMPTY_STATE);
+    ExplodedGraph.Node otherEntry = explodedGraph.node(entryPoint, ProgramState.EMPTY_STATE.stackValue(new SymbolicValue()));
+
+    WorkList workList = ExplorationStrategy.REVERSE_POSTORDER.newWorkList(cfg);
+    workList.add(exit);
+    workList.add(entryNextPoint);
+    workList.add(entry);
+    workList.add(otherEntry);
+
+    assertThat(workList).hasSize(4);
+    assertThat(workList.peekNext()).isSameAs(otherEntry);
+    assertThat(workList.removeNext()).isSameAs(otherEntry);
+    assertThat(workList.removeNext()).isSameAs(entry);
+    assertThat(workList.removeNext()).isSameAs(entryNextPoint);
+    assertThat(workList.removeNext()).isSameAs(exit);
+    assertThat(workList.isEmpty()).isTrue();
+    assertThat(workList.peekNext()).isNull();
+  }
+}
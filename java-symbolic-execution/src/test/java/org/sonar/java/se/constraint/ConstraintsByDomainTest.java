@@ -70,6 +70,21 @@ class ConstraintsByDomainTest {
     assertThat(c1).isSameAs(c2);
   }
 
+  @Test
+  void test_interning() {
+    ConstraintsByDomain c1 = ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL).put(BooleanConstraint.TRUE);
+    ConstraintsByDomain c2 = ConstraintsByDomain.empty().put(BooleanConstraint.TRUE).put(ObjectConstraint.NOT_NULL);
+    assertThat(c1).isSameAs(c2);
+    assertThat(c1.remove(BooleanConstraint.class)).isSameAs(ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL));
+
+    ConstraintsByDomain typed1 = c1.put(new TypedConstraint("java.lang.String"));
+    ConstraintsByDomain typed2 = c2.put(new TypedConstraint("java.lang.String"));
+    assertThat(typed1).isNotSameAs(typed2).isEqualTo(typed2).hasSameHashCodeAs(typed2);
+    assertThat(typed1).isNotEqualTo(c1);
+    assertThat(c1).isNotEqualTo(typed1);
+    assertThat(typed1.put(new TypedConstraint("java.lang.Integer"))).isNotEqualTo(typed2);
+  }
+
   @Test
   void test_forEach() {
     ConstraintsByDomain constraints = ConstraintsByDomain.empty();
@@ -57,6 +57,7 @@ import static org.sonar.java.se.checks.DivisionByZeroCheck.ZeroConstraint.ZERO;
 import static org.sonar.java.se.constraint.BooleanConstraint.FALSE;
 import static org.sonar.java.se.constraint.BooleanConstraint.TRUE;
 import static org.sonar.java.se.symbolicvalues.RelationState.FULFILLED;
+import static org.sonar.java.se.symbolicvalues.RelationState.UNDETERMINED;
 import static org.sonar.java.se.symbolicvalues.RelationState.UNFULFILLED;
 import static org.sonar.java.se.symbolicvalues.RelationalSymbolicValue.Kind.EQUAL;
 import static org.sonar.java.se.symbolicvalues.RelationalSymbolicValue.Kind.METHOD_EQUALS;
@@ -356,6 +357,21 @@ class RelationalSymbolicValueTest {
     assertThat(transitive).containsOnly(relationalSV(Tree.Kind.EQUAL_TO, a, c), relationalSV(Tree.Kind.EQUAL_TO, b, d), relationalSV(Tree.Kind.EQUAL_TO, a, d));
   }
 
+  @Test
+  void test_transitive_relations_ignore_relations_without_common_operand() throws Exception {
+    RelationalSymbolicValue ab = relationalSV(Tree.Kind.LESS_THAN, a, b);
+    RelationalSymbolicValue cb = relationalSV(Tree.Kind.LESS_THAN, b, c);
+    RelationalSymbolicValue de = relationalSV(Tree.Kind.EQUAL_TO, d, e);
+    RelationalSymbolicValue ba = relationalSV(Tree.Kind.GREATER_THAN_OR_EQUAL_TO, b, a);
+    Set<RelationalSymbolicValue> knownRelations = SetUtils.immutableSetOf(ab, cb, de, ba);
+
+    assertThat(ab.transitiveRelations(knownRelations)).contains(relationalSV(Tree.Kind.LESS_THAN, a, c));
+    assertThat(de.transitiveRelations(knownRelations)).isEmpty();
+    assertThat(ab.resolveRelationState(knownRelations)).isEqualTo(FULFILLED);
+    assertThat(relationalSV(Tree.Kind.EQUAL_TO, d, e).resolveRelationState(knownRelations)).isEqualTo(FULFILLED);
+    assertThat(relationalSV(Tree.Kind.EQUAL_TO, e, c).resolveRelationState(knownRelations)).isEqualTo(UNDETERMINED);
+  }
+
   @Test
   void test_constraints_are_copied_over_transitive_relations() throws Exception {
     ProgramState ps = ProgramState.EMPTY_STATE;
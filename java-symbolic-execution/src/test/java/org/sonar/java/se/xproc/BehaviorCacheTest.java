@@ -19,13 +19,13 @@
  */
 package org.sonar.java.se.xproc;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledForJreRange;
@@ -198,7 +198,7 @@ class BehaviorCacheTest {
     }
 
     assertThat(behaviorCache.behaviors).isEmpty();
-    assertThat(behaviorCache.hardcodedBehaviors()).hasSize(255);
+    assertThat(behaviorCache.hardcodedBehaviors().size()).isEqualTo(255);
     assertThat(logTester.logs(Level.DEBUG)).containsOnly("[SE] Loaded 255 hardcoded method behaviors.");
   }
 
@@ -341,17 +341,15 @@ class BehaviorCacheTest {
 
   @Test
   void log_when_unable_to_load_resources_with_method_behavior() throws Exception {
-    Map<String, MethodBehavior> result = BehaviorCache.HardcodedMethodBehaviors
-      .loadHardcodedBehaviors(() -> Collections.singletonList((InputStream) null));
-    assertThat(result).isEmpty();
+    HardcodedMethodBehaviors result = HardcodedMethodBehaviors.load(() -> null);
+    assertThat(result.size()).isZero();
     assertThat(logTester.logs(Level.DEBUG)).containsOnlyOnce("[SE] Unable to load hardcoded method behaviors. Defaulting to no hardcoded method behaviors.");
   }
 
   @Test
   void log_when_unable_to_load_resources_with_invalid_method_behaviors() throws Exception {
-    Map<String, MethodBehavior> result = BehaviorCache.HardcodedMethodBehaviors
-      .loadHardcodedBehaviors(() -> Collections.singletonList(BehaviorCacheTest.class.getResourceAsStream("invalid.json")));
-    assertThat(result).isEmpty();
+    HardcodedMethodBehaviors result = HardcodedMethodBehaviors.load(() -> new ByteArrayInputStream("invalid".getBytes(StandardCharsets.UTF_8)));
+    assertThat(result.size()).isZero();
     assertThat(logTester.logs(Level.ERROR)).containsOnlyOnce("[SE] Unable to load hardcoded method behaviors. Defaulting to no hardcoded method behaviors.");
   }
 
@@ -0,0 +1,73 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HardcodedMethodBehaviorsCompilerTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void compiles_json_behaviors_into_the_binary_resource() throws Exception {
+    Path output = tempDir.resolve("org/sonar/java/se/xproc/hardcoded-behaviors.bin");
+
+    HardcodedMethodBehaviorsCompiler.main(new String[] {"src/main/behaviors", output.toString()});
+
+    HardcodedMethodBehaviors compiled = HardcodedMethodBehaviors.read(Files.readAllBytes(output));
+    assertThat(compiled.size()).isEqualTo(255);
+    assertThat(compiled.get("org.apache.commons.lang.StringUtils#isBlank(Ljava/lang/String;)Z")).isNotNull();
+  }
+
+  @Test
+  void only_json_files_are_read_in_the_order_of_their_names() throws Exception {
+    Files.writeString(tempDir.resolve("b.json"), "[{\"signature\": \"org.foo.B#b()V\", \"varArgs\": false, \"declaredExceptions\": [], \"yields\": []}]");
+    Files.writeString(tempDir.resolve("a.json"), "[{\"signature\": \"org.foo.A#a()V\", \"varArgs\": false, \"declaredExceptions\": [], \"yields\": []}]");
+    Files.writeString(tempDir.resolve("README.md"), "not behaviors");
+
+    assertThat(HardcodedMethodBehaviorsCompiler.readJson(tempDir))
+      .extracting(MethodBehavior::signature)
+      .containsExactly("org.foo.A#a()V", "org.foo.B#b()V");
+  }
+
+  @Test
+  void empty_json_file_is_rejected() throws Exception {
+    Files.writeString(tempDir.resolve("empty.json"), "");
+
+    assertThatThrownBy(() -> HardcodedMethodBehaviorsCompiler.readJson(tempDir))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageStartingWith("No method behaviors in ");
+  }
+
+  @Test
+  void arguments_are_required() {
+    String[] args = {"src/main/behaviors"};
+    assertThatThrownBy(() -> HardcodedMethodBehaviorsCompiler.main(args))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Expected arguments: <directory of JSON behaviors> <output file>");
+  }
+}
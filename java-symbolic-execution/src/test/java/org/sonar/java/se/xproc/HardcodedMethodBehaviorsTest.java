@@ -0,0 +1,117 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HardcodedMethodBehaviorsTest {
+
+  private static final Path BEHAVIORS_DIRECTORY = Paths.get("src/main/behaviors");
+
+  @Test
+  void compiled_resource_contains_all_json_behaviors() throws Exception {
+    List<MethodBehavior> jsonBehaviors = HardcodedMethodBehaviorsCompiler.readJson(BEHAVIORS_DIRECTORY);
+    HardcodedMethodBehaviors hardcodedBehaviors = HardcodedMethodBehaviors.uniqueInstance();
+
+    assertThat(hardcodedBehaviors.size()).isEqualTo(jsonBehaviors.size()).isEqualTo(255);
+    for (MethodBehavior jsonBehavior : jsonBehaviors) {
+      assertThat(hardcodedBehaviors.get(jsonBehavior.signature())).isEqualTo(jsonBehavior);
+    }
+  }
+
+  @Test
+  void behaviors_are_decoded_once_on_first_lookup() throws Exception {
+    List<MethodBehavior> jsonBehaviors = HardcodedMethodBehaviorsCompiler.readJson(BEHAVIORS_DIRECTORY);
+    HardcodedMethodBehaviors hardcodedBehaviors = HardcodedMethodBehaviors.read(HardcodedMethodBehaviors.write(jsonBehaviors));
+    String signature = jsonBehaviors.get(0).signature();
+
+    MethodBehavior behavior = hardcodedBehaviors.get(signature);
+
+    assertThat(behavior).isNotNull().isNotSameAs(jsonBehaviors.get(0)).isEqualTo(jsonBehaviors.get(0));
+    assertThat(behavior.isComplete()).isTrue();
+    assertThat(hardcodedBehaviors.get(signature)).isSameAs(behavior);
+    assertThat(hardcodedBehaviors.get("org.foo.A#unknown()V")).isNull();
+  }
+
+  @Test
+  void index_keeps_all_signatures() {
+    MethodBehavior foo = completedBehavior("org.foo.A#foo()V");
+    MethodBehavior bar = completedBehavior("org.foo.A#bar()V");
+
+    HardcodedMethodBehaviors hardcodedBehaviors = HardcodedMethodBehaviors.read(HardcodedMethodBehaviors.write(Arrays.asList(foo, bar)));
+
+    assertThat(hardcodedBehaviors.signatures()).containsExactlyInAnyOrder("org.foo.A#foo()V", "org.foo.A#bar()V");
+    assertThat(hardcodedBehaviors.get("org.foo.A#bar()V")).isEqualTo(bar);
+  }
+
+  @Test
+  void duplicated_signatures_are_rejected() {
+    List<MethodBehavior> behaviors = Arrays.asList(completedBehavior("org.foo.A#foo()V"), completedBehavior("org.foo.A#foo()V"));
+
+    assertThatThrownBy(() -> HardcodedMethodBehaviors.write(behaviors))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Duplicated hardcoded method behavior for org.foo.A#foo()V");
+  }
+
+  @Test
+  void unsupported_version_is_rejected() {
+    byte[] data = HardcodedMethodBehaviors.write(Collections.emptyList());
+    data[0] = 42;
+
+    assertThatThrownBy(() -> HardcodedMethodBehaviors.read(data))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Unsupported version 42 of hardcoded method behaviors");
+  }
+
+  @Test
+  void truncated_index_is_rejected() {
+    byte[] data = HardcodedMethodBehaviors.write(Collections.singletonList(completedBehavior("org.foo.A#foo()V")));
+    byte[] truncatedData = Arrays.copyOf(data, 10);
+
+    assertThatThrownBy(() -> HardcodedMethodBehaviors.read(truncatedData))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Unable to read hardcoded method behaviors");
+  }
+
+  @Test
+  void offsets_out_of_the_data_are_rejected() {
+    byte[] data = HardcodedMethodBehaviors.write(Collections.singletonList(completedBehavior("org.foo.A#foo()V")));
+    // keep only the index: version, size, signature and offset of the behavior
+    byte[] indexOnly = Arrays.copyOf(data, 1 + 4 + 2 + "org.foo.A#foo()V".length() + 4);
+
+    assertThatThrownBy(() -> HardcodedMethodBehaviors.read(indexOnly))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Invalid offset 0 of hardcoded method behavior");
+  }
+
+  private static MethodBehavior completedBehavior(String signature) {
+    MethodBehavior behavior = new MethodBehavior(signature, false);
+    behavior.completed();
+    return behavior;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.se.SymbolicExecutionVisitor;
+import org.sonar.java.se.checks.DivisionByZeroCheck.ZeroConstraint;
+import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.java.se.constraint.BooleanConstraint;
+import org.sonar.java.se.constraint.ConstraintsByDomain;
+import org.sonar.java.se.constraint.ObjectConstraint;
+import org.sonar.java.se.constraint.TypedConstraint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.sonar.java.se.utils.SETestUtils.createSymbolicExecutionVisitor;
+
+class MethodBehaviorBinaryFormatTest {
+
+  private static final Path BEHAVIORS_DIRECTORY = Paths.get("src/main/behaviors");
+
+  @Test
+  void hardcoded_behaviors_are_read_back_unchanged() throws Exception {
+    List<MethodBehavior> hardcodedBehaviors = HardcodedMethodBehaviorsCompiler.readJson(BEHAVIORS_DIRECTORY);
+
+    byte[] data = MethodBehaviorBinaryFormat.serialize(hardcodedBehaviors);
+
+    assertThat(MethodBehaviorBinaryFormat.deserialize(data)).isEqualTo(hardcodedBehaviors);
+  }
+
+  @Test
+  void computed_behaviors_are_read_back_detached_from_their_exploded_graph() {
+    SymbolicExecutionVisitor sev = createSymbolicExecutionVisitor("src/test/files/se/ExceptionalYields.java", new NullDereferenceCheck());
+    List<MethodBehavior> computedBehaviors = new ArrayList<>(sev.behaviorCache.behaviors.values());
+    computedBehaviors.removeIf(behavior -> !MethodBehaviorBinaryFormat.canEncode(behavior));
+    assertThat(computedBehaviors).isNotEmpty().allMatch(MethodBehavior::isComplete);
+
+    List<MethodBehavior> readBehaviors = MethodBehaviorBinaryFormat.deserialize(MethodBehaviorBinaryFormat.serialize(computedBehaviors));
+
+    assertThat(readBehaviors).hasSameSizeAs(computedBehaviors);
+    for (int i = 0; i < computedBehaviors.size(); i++) {
+      MethodBehavior computedBehavior = computedBehaviors.get(i);
+      MethodBehavior readBehavior = readBehaviors.get(i);
+      assertThat(readBehavior.signature()).isEqualTo(computedBehavior.signature());
+      assertThat(readBehavior.isComplete()).isTrue();
+      assertThat(readBehavior.parameters()).isEmpty();
+      assertThat(readBehavior.yields()).allMatch(methodYield -> methodYield.node == null);
+      assertThat(readBehavior.happyPathYields()).containsExactlyElementsOf(computedBehavior.happyPathYields().toList());
+      assertThat(readBehavior.exceptionalPathYields().map(MethodBehaviorBinaryFormatTest::describe))
+        .containsExactlyElementsOf(computedBehavior.exceptionalPathYields().map(MethodBehaviorBinaryFormatTest::describe).toList());
+    }
+  }
+
+  @Test
+  void behaviors_with_yields_raised_by_checks_cannot_be_encoded() {
+    SymbolicExecutionVisitor sev = createSymbolicExecutionVisitor("src/test/files/se/HappyPathYields.java", new NullDereferenceCheck());
+    List<MethodBehavior> behaviorsWithCheckBasedYields = sev.behaviorCache.behaviors.values().stream()
+      .filter(behavior -> behavior.exceptionalPathYields().anyMatch(ExceptionalCheckBasedYield.class::isInstance))
+      .toList();
+
+    assertThat(behaviorsWithCheckBasedYields).isNotEmpty().noneMatch(MethodBehaviorBinaryFormat::canEncode);
+  }
+
+  private static String describe(ExceptionalYield exceptionalYield) {
+    return exceptionalYield.parametersConstraints + " " + exceptionalYield.getExceptionType();
+  }
+
+  @Test
+  void constraints_of_all_supported_domains_are_kept() {
+    MethodBehavior behavior = new MethodBehavior("org.foo.A#divide(IZLjava/lang/Object;)Ljava/lang/Object;", false);
+    behavior.setDeclaredExceptions(Collections.singletonList("java.io.IOException"));
+    HappyPathYield happyPathYield = new HappyPathYield(behavior);
+    happyPathYield.parametersConstraints.add(ConstraintsByDomain.empty().put(ZeroConstraint.NON_ZERO));
+    happyPathYield.parametersConstraints.add(ConstraintsByDomain.empty().put(BooleanConstraint.TRUE).put(ObjectConstraint.NOT_NULL));
+    happyPathYield.parametersConstraints.add(null);
+    happyPathYield.setResult(2, ConstraintsByDomain.empty().put(ObjectConstraint.NULL));
+    behavior.addYield(happyPathYield);
+    ExceptionalYield exceptionalYield = new ExceptionalYield(behavior);
+    exceptionalYield.parametersConstraints.add(ConstraintsByDomain.empty().put(ZeroConstraint.ZERO));
+    exceptionalYield.parametersConstraints.add(ConstraintsByDomain.empty().put(BooleanConstraint.FALSE));
+    exceptionalYield.parametersConstraints.add(ConstraintsByDomain.empty());
+    exceptionalYield.setExceptionType("java.lang.ArithmeticException");
+    behavior.addYield(exceptionalYield);
+    ExceptionalYield untypedExceptionalYield = new ExceptionalYield(behavior);
+    untypedExceptionalYield.parametersConstraints.addAll(Collections.nCopies(3, ConstraintsByDomain.empty()));
+    behavior.addYield(untypedExceptionalYield);
+    behavior.completed();
+
+    List<MethodBehavior> readBehaviors = MethodBehaviorBinaryFormat.deserialize(MethodBehaviorBinaryFormat.serialize(List.of(behavior)));
+
+    assertThat(readBehaviors).containsExactly(behavior);
+  }
+
+  @Test
+  void constraints_of_other_domains_cannot_be_encoded() {
+    MethodBehavior behavior = new MethodBehavior("org.foo.A#foo(Ljava/lang/Object;)Ljava/lang/Object;", false);
+    HappyPathYield happyPathYield = new HappyPathYield(behavior);
+    happyPathYield.parametersConstraints.add(ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL));
+    happyPathYield.setResult(-1, ConstraintsByDomain.empty().put(new TypedConstraint("java.lang.String")));
+    behavior.addYield(happyPathYield);
+    behavior.completed();
+
+    assertThat(MethodBehaviorBinaryFormat.canEncode(behavior)).isFalse();
+    List<MethodBehavior> behaviors = List.of(behavior);
+    assertThatThrownBy(() -> MethodBehaviorBinaryFormat.serialize(behaviors))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Constraints of method behavior org.foo.A#foo(Ljava/lang/Object;)Ljava/lang/Object; cannot be encoded");
+  }
+
+  @Test
+  void unsupported_version_is_rejected() {
+    byte[] data = MethodBehaviorBinaryFormat.serialize(Collections.emptyList());
+    data[0] = 42;
+
+    assertThatThrownBy(() -> MethodBehaviorBinaryFormat.deserialize(data))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Unsupported version 42 of serialized method behaviors");
+  }
+
+  @Test
+  void truncated_data_is_rejected() throws Exception {
+    byte[] data = MethodBehaviorBinaryFormat.serialize(HardcodedMethodBehaviorsCompiler.readJson(BEHAVIORS_DIRECTORY));
+    byte[] truncatedData = new byte[data.length / 2];
+    System.arraycopy(data, 0, truncatedData, 0, truncatedData.length);
+
+    assertThatThrownBy(() -> MethodBehaviorBinaryFormat.deserialize(truncatedData))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Unable to read serialized method behaviors");
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.io.File;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.checks.verifier.internal.InternalInputFile;
+import org.sonar.java.se.constraint.ConstraintsByDomain;
+import org.sonar.java.se.constraint.ObjectConstraint;
+import org.sonar.java.se.constraint.TypedConstraint;
+import org.sonar.plugins.java.api.InputFileScannerContext;
+import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MethodBehaviorStoreTest {
+
+  private static final String SIGNATURE = "org.foo.A#foo(Ljava/lang/Object;)V";
+
+  private final InputFile inputFile = InternalInputFile.inputFile("", new File("src/test/files/se/SimpleClass.java"));
+  private final String cacheKey = "java:se:behaviors:" + inputFile.key();
+  private final MethodBehaviorStore store = new MethodBehaviorStore();
+  private InputFileScannerContext context;
+  private CacheContext cacheContext;
+  private JavaReadCache readCache;
+  private JavaWriteCache writeCache;
+
+  @BeforeEach
+  void setup() {
+    readCache = mock(JavaReadCache.class);
+    writeCache = mock(JavaWriteCache.class);
+    cacheContext = mock(CacheContext.class);
+    when(cacheContext.getReadCache()).thenReturn(readCache);
+    when(cacheContext.getWriteCache()).thenReturn(writeCache);
+    context = mock(InputFileScannerContext.class);
+    when(context.getInputFile()).thenReturn(inputFile);
+    when(context.getCacheContext()).thenReturn(cacheContext);
+  }
+
+  @Test
+  void saved_behaviors_are_only_written_to_the_cache() {
+    when(cacheContext.isCacheEnabled()).thenReturn(true);
+    MethodBehavior behavior = behavior();
+
+    store.save(context, List.of(behavior));
+
+    assertThat(store.get(SIGNATURE)).isNull();
+    verify(writeCache).write(cacheKey, MethodBehaviorBinaryFormat.serialize(List.of(behavior)));
+  }
+
+  @Test
+  void saved_behaviors_are_not_written_when_the_cache_is_disabled() {
+    when(cacheContext.isCacheEnabled()).thenReturn(false);
+
+    store.save(context, List.of(behavior()));
+
+    assertThat(store.get(SIGNATURE)).isNull();
+    verify(writeCache, never()).write(anyString(), any(byte[].class));
+  }
+
+  @Test
+  void writing_twice_for_a_file_is_ignored() {
+    when(cacheContext.isCacheEnabled()).thenReturn(true);
+    doThrow(new IllegalArgumentException("already written")).when(writeCache).write(anyString(), any(byte[].class));
+
+    store.save(context, List.of(behavior()));
+
+    verify(writeCache).write(anyString(), any(byte[].class));
+  }
+
+  @Test
+  void behaviors_with_constraints_which_cannot_be_encoded_are_not_saved() {
+    when(cacheContext.isCacheEnabled()).thenReturn(true);
+    MethodBehavior behavior = new MethodBehavior(SIGNATURE, false);
+    HappyPathYield happyPathYield = new HappyPathYield(behavior);
+    happyPathYield.parametersConstraints.add(ConstraintsByDomain.empty().put(new TypedConstraint("java.lang.String")));
+    happyPathYield.setResult(-1, null);
+    behavior.addYield(happyPathYield);
+    behavior.completed();
+
+    store.save(context, List.of(behavior));
+
+    verify(writeCache).write(cacheKey, MethodBehaviorBinaryFormat.serialize(List.of()));
+  }
+
+  @Test
+  void behaviors_of_the_previous_analysis_are_loaded_and_kept() {
+    MethodBehavior behavior = behavior();
+    when(readCache.readBytes(cacheKey)).thenReturn(MethodBehaviorBinaryFormat.serialize(List.of(behavior)));
+
+    assertThat(store.loadFromPreviousAnalysis(context)).isTrue();
+
+    assertThat(store.get(SIGNATURE)).isEqualTo(behavior);
+    verify(writeCache).copyFromPrevious(cacheKey);
+  }
+
+  @Test
+  void missing_behaviors_of_the_previous_analysis_require_an_analysis_of_the_file() {
+    when(readCache.readBytes(cacheKey)).thenReturn(null);
+
+    assertThat(store.loadFromPreviousAnalysis(context)).isFalse();
+
+    assertThat(store.get(SIGNATURE)).isNull();
+    verify(writeCache, never()).copyFromPrevious(anyString());
+  }
+
+  @Test
+  void unreadable_behaviors_of_the_previous_analysis_require_an_analysis_of_the_file() {
+    when(readCache.readBytes(cacheKey)).thenReturn(new byte[] {42});
+
+    assertThat(store.loadFromPreviousAnalysis(context)).isFalse();
+
+    verify(writeCache, never()).copyFromPrevious(anyString());
+  }
+
+  private static MethodBehavior behavior() {
+    MethodBehavior behavior = new MethodBehavior(SIGNATURE, false);
+    ExceptionalYield exceptionalYield = new ExceptionalYield(behavior);
+    exceptionalYield.parametersConstraints.add(ConstraintsByDomain.empty().put(ObjectConstraint.NULL));
+    exceptionalYield.setExceptionType("java.lang.NullPointerException");
+    behavior.addYield(exceptionalYield);
+    behavior.completed();
+    return behavior;
+  }
+
+}
@@ -31,6 +31,7 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
+import org.sonar.java.caching.CacheContextImpl;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.java.model.Sema;
@@ -227,6 +228,7 @@ class MethodYieldTest {
     when(context.getTree()).thenReturn(cut);
     when(context.getSemanticModel()).thenReturn(semanticModel);
     when(context.getJavaVersion()).thenReturn(new JavaVersionImpl(11));
+    when(context.getCacheContext()).thenReturn(CacheContextImpl.of(null));
     sev.scanFile(context);
 
     MethodSymbol methodSymbol = ((MethodTree) ((ClassTree) cut.types().get(0)).members().get(0)).symbol();
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.UnaryOperator;
@@ -48,6 +49,8 @@ import org.sonar.java.filters.PostAnalysisIssueFilter;
 import org.sonar.java.jsp.Jasper;
 import org.sonar.java.model.GeneratedFile;
 import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.ExecutionBudget;
+import org.sonar.java.se.ExplorationStrategy;
 import org.sonar.java.se.SymbolicExecutionVisitor;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.JavaCheck;
@@ -62,7 +65,7 @@ public class JavaSensor implements Sensor {
 
   private static final Logger LOG = LoggerFactory.getLogger(JavaSensor.class);
 
-  private static final String PERFORMANCE_MEASURE_ACTIVATION_PROPERTY = "sonar.java.performance.measure";
+  private static final String PERFORMANCE_MEASURE_ACTIVATION_PROPERTY = SonarComponents.PERFORMANCE_MEASURE_ACTIVATION_KEY;
   private static final String PERFORMANCE_MEASURE_FILE_PATH_PROPERTY = "sonar.java.performance.measure.path";
   private static final String PERFORMANCE_MEASURE_DESTINATION_FILE = "sonar.java.performance.measure.json";
 
@@ -101,15 +104,16 @@ public class JavaSensor implements Sensor {
 
   @Override
   public void execute(SensorContext context) {
+    sonarComponents.setSensorContext(context);
     PerformanceMeasure.Duration sensorDuration = createPerformanceMeasureReport(context);
 
-    sonarComponents.setSensorContext(context);
     sonarComponents.setCheckFilter(createCheckFilter(sonarComponents.isAutoScanCheckFiltering()));
 
     Measurer measurer = new Measurer(context, noSonarFilter);
 
     JavaFrontend frontend = new JavaFrontend(getJavaVersion(), sonarComponents, measurer, javaResourceLocator, postAnalysisIssueFilter,
-      insertSymbolicExecutionVisitor(sonarComponents.mainChecks()));
+      insertSymbolicExecutionVisitor(sonarComponents.mainChecks(), explorationStrategy(sonarComponents.getSymbolicExecutionExplorationStrategy().orElse(null)),
+        symbolicExecutionBudget()));
     frontend.scan(getSourceFiles(), getTestFiles(), runJasper(context));
 
     sensorDuration.stop();
@@ -133,9 +137,15 @@ public class JavaSensor implements Sensor {
     }
   }
 
-  private static PerformanceMeasure.Duration createPerformanceMeasureReport(SensorContext context) {
+  private PerformanceMeasure.Duration createPerformanceMeasureReport(SensorContext context) {
+    boolean activated = context.config().get(PERFORMANCE_MEASURE_ACTIVATION_PROPERTY).filter("true"::equals).isPresent();
+    // the current measure is global, so it can not be shared by batches analyzed concurrently
+    if (activated && sonarComponents.getBatchModeParallelism() > 1) {
+      LOG.info("Performance measures are disabled when batches are analyzed in parallel ({} > 1).", SonarComponents.SONAR_BATCH_PARALLELISM_KEY);
+      activated = false;
+    }
     return PerformanceMeasure.reportBuilder()
-      .activate(context.config().get(PERFORMANCE_MEASURE_ACTIVATION_PROPERTY).filter("true"::equals).isPresent())
+      .activate(activated)
       .toFile(context.config().get(PERFORMANCE_MEASURE_FILE_PATH_PROPERTY)
         .filter(path -> !path.isEmpty())
         .orElseGet(() -> Optional.ofNullable(context.fileSystem().workDir())
@@ -146,8 +156,31 @@ public class JavaSensor implements Sensor {
       .start("JavaSensor");
   }
 
+  private ExecutionBudget symbolicExecutionBudget() {
+    return new ExecutionBudget(sonarComponents.getSymbolicExecutionMethodTimeBudget(), sonarComponents.getSymbolicExecutionFileTimeBudget(),
+      sonarComponents.getSymbolicExecutionMethodAllocationBudget(), sonarComponents.getSymbolicExecutionMethodFlowSteps());
+  }
+
+  @VisibleForTesting
+  static ExplorationStrategy explorationStrategy(@Nullable String configuredStrategy) {
+    if (configuredStrategy == null) {
+      return ExplorationStrategy.DEPTH_FIRST;
+    }
+    try {
+      return ExplorationStrategy.valueOf(configuredStrategy.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown symbolic execution exploration strategy '{}' ({}), {} is used instead.", configuredStrategy,
+        SonarComponents.SONAR_SE_EXPLORATION_STRATEGY_KEY, ExplorationStrategy.DEPTH_FIRST);
+      return ExplorationStrategy.DEPTH_FIRST;
+    }
+  }
+
   @VisibleForTesting
   static JavaCheck[] insertSymbolicExecutionVisitor(List<JavaCheck> checks) {
+    return insertSymbolicExecutionVisitor(checks, ExplorationStrategy.DEPTH_FIRST, ExecutionBudget.UNLIMITED);
+  }
+
+  private static JavaCheck[] insertSymbolicExecutionVisitor(List<JavaCheck> checks, ExplorationStrategy explorationStrategy, ExecutionBudget budget) {
     List<SECheck> seChecks = checks.stream()
       .filter(SECheck.class::isInstance)
       .map(SECheck.class::cast)
@@ -159,7 +192,7 @@ public class JavaSensor implements Sensor {
     }
     List<JavaCheck> newList = new ArrayList<>(checks);
     // insert an instance of SymbolicExecutionVisitor before the first SECheck
-    newList.add(newList.indexOf(seChecks.get(0)), new SymbolicExecutionVisitor(seChecks));
+    newList.add(newList.indexOf(seChecks.get(0)), new SymbolicExecutionVisitor(seChecks, explorationStrategy, budget));
     return newList.toArray(new JavaCheck[0]);
   }
 
@@ -67,6 +67,7 @@ import org.sonar.java.jsp.Jasper;
 import org.sonar.java.model.GeneratedFile;
 import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.java.reporting.AnalyzerMessage;
+import org.sonar.java.se.ExplorationStrategy;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -279,6 +280,18 @@ class JavaSensorTest {
       );
   }
 
+  @Test
+  void exploration_strategy_of_symbolic_execution_can_be_configured() {
+    assertThat(JavaSensor.explorationStrategy(null)).isEqualTo(ExplorationStrategy.DEPTH_FIRST);
+    assertThat(JavaSensor.explorationStrategy("reverse_postorder_with_subsumption"))
+      .isEqualTo(ExplorationStrategy.REVERSE_POSTORDER_WITH_SUBSUMPTION);
+    assertThat(logTester.logs(Level.WARN)).isEmpty();
+
+    assertThat(JavaSensor.explorationStrategy("BREADTH_FIRST")).isEqualTo(ExplorationStrategy.DEPTH_FIRST);
+    assertThat(logTester.logs(Level.WARN)).containsExactly("Unknown symbolic execution exploration strategy 'BREADTH_FIRST' "
+      + "(sonar.java.experimental.symbolicExecutionExplorationStrategy), DEPTH_FIRST is used instead.");
+  }
+
   @Test
   void info_log_when_no_SE_rules_enabled() throws IOException {
     assertJasperIsInvoked(new MapSettings());
@@ -312,6 +325,21 @@ class JavaSensorTest {
     assertThat(new String(Files.readAllBytes(performanceFile), UTF_8)).contains("\"JavaSensor\"");
   }
 
+  @Test
+  void performance_measure_should_not_be_activated_with_parallel_batches() throws IOException {
+    logTester.setLevel(Level.DEBUG);
+    MapSettings settings = new MapSettings();
+    settings.setProperty("sonar.java.performance.measure", "true");
+    settings.setProperty("sonar.java.experimental.batchModeParallelism", "2");
+    Path workDir = tmp.newFolder().toPath();
+    executeJavaSensorForPerformanceMeasure(settings, workDir);
+    String debugLogs = String.join("\n", logTester.logs(Level.DEBUG));
+    assertThat(debugLogs).doesNotContain("Performance Measures:");
+    assertThat(logTester.logs(Level.INFO))
+      .contains("Performance measures are disabled when batches are analyzed in parallel (sonar.java.experimental.batchModeParallelism > 1).");
+    assertThat(workDir.resolve("sonar.java.performance.measure.json")).doesNotExist();
+  }
+
   @Test
   void custom_performance_measure_file_path_can_be_provided() throws IOException {
     logTester.setLevel(Level.DEBUG);